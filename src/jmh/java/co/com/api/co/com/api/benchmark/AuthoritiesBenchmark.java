@@ -0,0 +1,56 @@
+package co.com.api.co.com.api.benchmark;
+
+import co.com.api.co.com.api.domain.roles.RegistroPermisos;
+import co.com.api.co.com.api.domain.usuarios.Usuario;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+// Usuario.getAuthorities recorriendo roles y permisos contra la lista precalculada
+// por RegistroPermisos que usa el principal autenticado
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthoritiesBenchmark {
+
+    @Param({"1", "3"})
+    public int roles;
+
+    @Param({"10", "40"})
+    public int permisosPorRol;
+
+    private Usuario sinPrecalcular;
+    private Usuario precalculado;
+    private RegistroPermisos registroPermisos;
+
+    @Setup
+    public void preparar() {
+        sinPrecalcular = Datos.usuario(roles, permisosPorRol);
+
+        // Sin repositorios: los roles se registran al calcular por primera vez
+        registroPermisos = new RegistroPermisos();
+        precalculado = Datos.usuario(roles, permisosPorRol);
+        precalculado.setPermisosEfectivos(registroPermisos.calcular(precalculado.getRoles()));
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return sinPrecalcular.getAuthorities();
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthoritiesPrecalculadas() {
+        return precalculado.getAuthorities();
+    }
+
+    // Lo que paga SecurityFilter cuando el usuario no está en la cache de sesiones
+    @Benchmark
+    public Object calcularPermisos() {
+        return registroPermisos.calcular(sinPrecalcular.getRoles());
+    }
+}
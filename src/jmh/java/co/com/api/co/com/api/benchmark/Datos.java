@@ -0,0 +1,102 @@
+package co.com.api.co.com.api.benchmark;
+
+import co.com.api.co.com.api.domain.clientes.Cliente;
+import co.com.api.co.com.api.domain.empleados.Empleado;
+import co.com.api.co.com.api.domain.inventario.Inventario;
+import co.com.api.co.com.api.domain.productos.Producto;
+import co.com.api.co.com.api.domain.roles.Permiso;
+import co.com.api.co.com.api.domain.roles.Rol;
+import co.com.api.co.com.api.domain.usuarios.Usuario;
+import co.com.api.co.com.api.domain.ventas.Venta;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+// Grafos de entidades en memoria con tamaños parecidos a los de producción.
+// Los benchmarks no tocan la base de datos.
+final class Datos {
+
+    private static final Permiso.Accion[] ACCIONES = Permiso.Accion.values();
+
+    private Datos() {}
+
+    // Usuario con varios roles que comparten parte de sus permisos
+    static Usuario usuario(int cantidadRoles, int permisosPorRol) {
+        List<Rol> roles = new ArrayList<>(cantidadRoles);
+        for (int r = 0; r < cantidadRoles; r++) {
+            Rol rol = new Rol("ROL_" + r, "Rol de prueba " + r);
+            rol.setId((long) r + 1);
+            List<Permiso> permisos = new ArrayList<>(permisosPorRol);
+            for (int p = 0; p < permisosPorRol; p++) {
+                // Desplazamiento de media lista: roles consecutivos repiten permisos
+                int indice = r * (permisosPorRol / 2) + p;
+                Permiso permiso = new Permiso("PERMISO_" + indice, "Permiso " + indice,
+                        "RECURSO_" + (indice % 10), ACCIONES[indice % ACCIONES.length]);
+                permiso.setId((long) indice + 1);
+                permisos.add(permiso);
+            }
+            rol.setPermisos(permisos);
+            roles.add(rol);
+        }
+
+        Usuario usuario = new Usuario("benchmark", "$2a$10$hash", "benchmark@inventariado.com", "Bench", "Mark");
+        usuario.setId(1L);
+        usuario.setRoles(roles);
+        return usuario;
+    }
+
+    static List<Producto> productos(int cantidad) {
+        List<Producto> productos = new ArrayList<>(cantidad);
+        LocalDate hoy = LocalDate.of(2024, 1, 15);
+        for (int i = 0; i < cantidad; i++) {
+            Producto producto = new Producto("Producto " + i, hoy.plusMonths(6), hoy.plusMonths(3),
+                    "Categoria " + (i % 8), 100 + i, BigDecimal.valueOf(1500 + i * 25L, 2));
+            producto.setId((long) i + 1);
+            productos.add(producto);
+        }
+        return productos;
+    }
+
+    static Empleado empleado() {
+        Empleado empleado = new Empleado("Vendedor Uno", "1010101010", 30, "3001234567",
+                "vendedor@inventariado.com", LocalDate.of(2020, 3, 1));
+        empleado.setId(1L);
+        return empleado;
+    }
+
+    static List<Venta> ventas(int cantidad, int productosPorVenta) {
+        List<Producto> catalogo = productos(productosPorVenta * 4);
+        Cliente cliente = new Cliente("Cliente Uno", "2020202020", "3107654321", "cliente@correo.com", "Calle 1 # 2-3");
+        cliente.setId(1L);
+        Empleado vendedor = empleado();
+
+        List<Venta> ventas = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            int desde = (i * productosPorVenta) % (catalogo.size() - productosPorVenta);
+            Venta venta = new Venta(LocalDate.of(2024, 1, 1).plusDays(i % 365),
+                    new LinkedHashSet<>(catalogo.subList(desde, desde + productosPorVenta)),
+                    BigDecimal.valueOf(25000 + i, 2), cliente, vendedor,
+                    "Venta de prueba " + i, Venta.EstadoVenta.COMPLETADA);
+            venta.setId((long) i + 1);
+            ventas.add(venta);
+        }
+        return ventas;
+    }
+
+    static List<Inventario> inventarios(int cantidad) {
+        Empleado responsable = empleado();
+
+        List<Inventario> inventarios = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            Inventario inventario = new Inventario(responsable,
+                    LocalDateTime.of(2024, 1, 15, 8, 0).plusHours(i), "Conteo " + i);
+            inventario.setId((long) i + 1);
+            inventarios.add(inventario);
+        }
+        return inventarios;
+    }
+}
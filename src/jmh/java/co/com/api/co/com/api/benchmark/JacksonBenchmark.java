@@ -0,0 +1,46 @@
+package co.com.api.co.com.api.benchmark;
+
+import co.com.api.co.com.api.config.JacksonConfig;
+import co.com.api.co.com.api.domain.inventario.Inventario;
+import co.com.api.co.com.api.domain.ventas.Venta;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialización de los grafos de Venta e Inventario con el mismo ObjectMapper que usa la API
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JacksonBenchmark {
+
+    // Tamaño de página: una venta sola y una página por defecto del listado
+    @Param({"1", "50"})
+    public int filas;
+
+    private ObjectMapper mapper;
+    private List<Venta> ventas;
+    private List<Inventario> inventarios;
+
+    @Setup
+    public void preparar() {
+        mapper = new JacksonConfig().objectMapper();
+        ventas = Datos.ventas(filas, 5);
+        inventarios = Datos.inventarios(filas);
+    }
+
+    @Benchmark
+    public byte[] serializarVentas() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(ventas);
+    }
+
+    @Benchmark
+    public byte[] serializarInventarios() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(inventarios);
+    }
+}
@@ -0,0 +1,42 @@
+package co.com.api.co.com.api.benchmark;
+
+import co.com.api.co.com.api.domain.usuarios.Usuario;
+import co.com.api.co.com.api.infra.security.TokenGenerate;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// Costo de emitir y verificar un JWT: se paga en cada login y en cada request autenticado
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenBenchmark {
+
+    private TokenGenerate tokenGenerate;
+    private Usuario usuario;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        tokenGenerate = new TokenGenerate();
+        ReflectionTestUtils.setField(tokenGenerate, "valorSecret",
+                "mi_clave_secreta_muy_segura_para_jwt_2024_inventariado_sistema");
+        ReflectionTestUtils.invokeMethod(tokenGenerate, "inicializar");
+        usuario = Datos.usuario(2, 10);
+        token = tokenGenerate.generarToken(usuario);
+    }
+
+    @Benchmark
+    public String generarToken() {
+        return tokenGenerate.generarToken(usuario);
+    }
+
+    @Benchmark
+    public String getSujet() {
+        return tokenGenerate.getSujet(token);
+    }
+}
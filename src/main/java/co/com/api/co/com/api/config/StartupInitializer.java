@@ -6,6 +6,8 @@ import co.com.api.co.com.api.domain.roles.Rol;
 import co.com.api.co.com.api.domain.roles.RolRepository;
 import co.com.api.co.com.api.domain.usuarios.Usuario;
 import co.com.api.co.com.api.domain.usuarios.UsuarioReposotiry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -17,6 +19,8 @@ import java.util.Optional;
 @Component
 public class StartupInitializer implements CommandLineRunner {
 
+    private static final Logger logger = LoggerFactory.getLogger(StartupInitializer.class);
+
     @Autowired
     private PermisoRepository permisoRepository;
 
@@ -42,8 +46,7 @@ public class StartupInitializer implements CommandLineRunner {
             createAdminUser();
             
         } catch (Exception e) {
-            System.err.println("Error durante la inicialización: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error durante la inicialización", e);
         }
     }
 
@@ -167,7 +170,7 @@ public class StartupInitializer implements CommandLineRunner {
         // Obtener rol de administrador
         Optional<Rol> adminRolOpt = rolRepository.findByNombre("ADMIN");
         if (adminRolOpt.isEmpty()) {
-            System.err.println("Error: Rol ADMIN no encontrado");
+            logger.error("Rol ADMIN no encontrado");
             return;
         }
 
@@ -184,7 +187,7 @@ public class StartupInitializer implements CommandLineRunner {
             admin.setActivo(true);
             admin.setRoles(List.of(adminRolOpt.get()));
             usuarioRepository.save(admin);
-            System.out.println("Usuario admin actualizado con contraseña correcta");
+            logger.info("Usuario admin actualizado con contraseña correcta");
         } else {
             // Crear nuevo usuario administrador
             Usuario admin = new Usuario();
@@ -196,7 +199,7 @@ public class StartupInitializer implements CommandLineRunner {
             admin.setActivo(true);
             admin.setRoles(List.of(adminRolOpt.get()));
             usuarioRepository.save(admin);
-            System.out.println("Usuario admin creado exitosamente");
+            logger.info("Usuario admin creado exitosamente");
         }
     }
 }
@@ -12,21 +12,26 @@ import co.com.api.co.com.api.domain.usuarios.UsuarioReposotiry;
 import co.com.api.co.com.api.domain.roles.Rol;
 import co.com.api.co.com.api.domain.roles.RolRepository;
 import co.com.api.co.com.api.infra.security.DatosJWT;
+import co.com.api.co.com.api.infra.security.HashingSaturadoException;
+import co.com.api.co.com.api.infra.security.PasswordHashingService;
 import co.com.api.co.com.api.infra.security.TokenGenerate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -46,96 +51,102 @@ public class AuthController {
     private TokenGenerate tokenGenerate;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private AuthenticationManager authenticationManager;
 
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private PasswordHashingService passwordHashingService;
+
+    // Executor de @Async (hilos virtuales con el perfil virtual). Lo que sigue al hash
+    // corre aquí para que el pool de BCrypt solo calcule hashes.
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
 
     // POST - Registro de usuario
     @Operation(summary = "Registrar nuevo usuario", description = "Crea un nuevo usuario en el sistema con roles opcionales")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Usuario creado exitosamente"),
         @ApiResponse(responseCode = "409", description = "Usuario o email ya existe"),
-        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor"),
+        @ApiResponse(responseCode = "503", description = "Demasiados registros simultáneos, reintentar")
     })
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@RequestBody RegisterRequest request) {
+    public CompletableFuture<ResponseEntity<AuthResponse>> register(@RequestBody RegisterRequest request) {
         logger.info("Intentando registrar usuario: {}", request.user());
         try {
             // Validar datos de entrada
             if (request.user() == null || request.user().trim().isEmpty()) {
                 logger.warn("Intento de registro con usuario vacío");
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+                return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
             }
             if (request.password() == null || request.password().trim().isEmpty()) {
                 logger.warn("Intento de registro con contraseña vacía para usuario: {}", request.user());
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+                return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
             }
             if (request.email() == null || request.email().trim().isEmpty()) {
                 logger.warn("Intento de registro con email vacío para usuario: {}", request.user());
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+                return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
             }
 
             // Verificar si ya existe un usuario con el mismo nombre de usuario
-            Optional<Usuario> usuarioExistente = usuarioRepository.findByUser(request.user());
-            if (usuarioExistente.isPresent()) {
+            if (usuarioRepository.existsByUser(request.user())) {
                 logger.warn("Usuario ya existe: {}", request.user());
-                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+                return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.CONFLICT).build());
             }
 
             // Verificar si ya existe un usuario con el mismo email
-            Optional<Usuario> usuarioConEmail = usuarioRepository.findByEmail(request.email());
-            if (usuarioConEmail.isPresent()) {
+            if (usuarioRepository.existsByEmail(request.email())) {
                 logger.warn("Email ya existe: {}", request.email());
-                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+                return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.CONFLICT).build());
             }
 
-            // Crear nuevo usuario
-            Usuario nuevoUsuario = new Usuario();
-            nuevoUsuario.setUser(request.user().trim());
-            nuevoUsuario.setPassword(passwordEncoder.encode(request.password()));
-            nuevoUsuario.setEmail(request.email().trim());
-            nuevoUsuario.setNombre(request.nombre() != null ? request.nombre().trim() : null);
-            nuevoUsuario.setApellido(request.apellido() != null ? request.apellido().trim() : null);
-            nuevoUsuario.setActivo(true);
-
-            // Asignar roles si se proporcionan, sino asignar rol VENDEDOR por defecto
-            if (request.rolIds() != null && !request.rolIds().isEmpty()) {
-                List<Rol> roles = rolRepository.findAllById(request.rolIds());
-                nuevoUsuario.setRoles(roles);
-            } else {
-                // Asignar rol VENDEDOR por defecto (ID = 2)
-                Optional<Rol> rolVendedor = rolRepository.findById(2L);
-                if (rolVendedor.isPresent()) {
-                    nuevoUsuario.setRoles(List.of(rolVendedor.get()));
-                }
-            }
+            // El hash de la contraseña corre en el pool de BCrypt; el hilo del request queda
+            // libre. El INSERT y el token van al executor de tareas.
+            return passwordHashingService.codificar(request.password())
+                    .thenApplyAsync(passwordEncriptada -> crearUsuario(request, passwordEncriptada), taskExecutor)
+                    .exceptionally(e -> {
+                        logger.error("Error al registrar usuario: {}", request.user(), e);
+                        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+                    });
+        } catch (HashingSaturadoException e) {
+            logger.warn("Registro rechazado por executor de contraseñas saturado: {}", request.user());
+            return CompletableFuture.completedFuture(servicioSaturado());
+        } catch (Exception e) {
+            logger.error("Error al registrar usuario: {}", request.user(), e);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+        }
+    }
 
-            // Guardar usuario
-            Usuario usuarioGuardado = usuarioRepository.save(nuevoUsuario);
+    private ResponseEntity<AuthResponse> crearUsuario(RegisterRequest request, String passwordEncriptada) {
+        // Crear nuevo usuario
+        Usuario nuevoUsuario = new Usuario();
+        nuevoUsuario.setUser(request.user().trim());
+        nuevoUsuario.setPassword(passwordEncriptada);
+        nuevoUsuario.setEmail(request.email().trim());
+        nuevoUsuario.setNombre(request.nombre() != null ? request.nombre().trim() : null);
+        nuevoUsuario.setApellido(request.apellido() != null ? request.apellido().trim() : null);
+        nuevoUsuario.setActivo(true);
+
+        // Asignar roles si se proporcionan, sino asignar rol VENDEDOR por defecto
+        if (request.rolIds() != null && !request.rolIds().isEmpty()) {
+            List<Rol> roles = rolRepository.findAllById(request.rolIds());
+            nuevoUsuario.setRoles(roles);
+        } else {
+            // Asignar rol VENDEDOR por defecto (ID = 2)
+            Optional<Rol> rolVendedor = rolRepository.findById(2L);
+            if (rolVendedor.isPresent()) {
+                nuevoUsuario.setRoles(List.of(rolVendedor.get()));
+            }
+        }
 
-            // Generar token
-            String token = tokenGenerate.generarToken(usuarioGuardado);
+        // Guardar usuario
+        Usuario usuarioGuardado = usuarioRepository.save(nuevoUsuario);
 
-            // Crear respuesta
-            AuthResponse response = new AuthResponse(
-                    token,
-                    usuarioGuardado.getUser(),
-                    usuarioGuardado.getEmail(),
-                    usuarioGuardado.getNombre(),
-                    usuarioGuardado.getApellido(),
-                    usuarioGuardado.getRoles() != null ? 
-                        usuarioGuardado.getRoles().stream().map(Rol::getNombre).toList() : 
-                        List.of(),
-                    usuarioGuardado.getActivo()
-            );
+        // Generar token
+        String token = tokenGenerate.generarToken(usuarioGuardado);
 
-            logger.info("Usuario registrado exitosamente: {}", usuarioGuardado.getUser());
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
-        } catch (Exception e) {
-            logger.error("Error al registrar usuario: {}", request.user(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        logger.info("Usuario registrado exitosamente: {}", usuarioGuardado.getUser());
+        return ResponseEntity.status(HttpStatus.CREATED).body(respuesta(token, usuarioGuardado));
     }
 
     // POST - Login de usuario
@@ -143,53 +154,72 @@ public class AuthController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Login exitoso"),
         @ApiResponse(responseCode = "401", description = "Credenciales inválidas"),
-        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor"),
+        @ApiResponse(responseCode = "503", description = "Demasiados logins simultáneos, reintentar")
     })
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@RequestBody LoginRequest request) {
         try {
             // Buscar usuario en la base de datos
             Optional<Usuario> usuario = usuarioRepository.findByUser(request.user());
 
             if (usuario.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+                return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
             }
 
             Usuario usuarioEncontrado = usuario.get();
 
             // Verificar si el usuario está activo
             if (!usuarioEncontrado.getActivo()) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+                return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
             }
 
-            // Verificar contraseña
-            if (!passwordEncoder.matches(request.password(), usuarioEncontrado.getPassword())) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-            }
-
-            // Generar token
-            String token = tokenGenerate.generarToken(usuarioEncontrado);
-
-            // Crear respuesta
-            AuthResponse response = new AuthResponse(
-                    token,
-                    usuarioEncontrado.getUser(),
-                    usuarioEncontrado.getEmail(),
-                    usuarioEncontrado.getNombre(),
-                    usuarioEncontrado.getApellido(),
-                    usuarioEncontrado.getRoles() != null ? 
-                        usuarioEncontrado.getRoles().stream().map(Rol::getNombre).toList() : 
-                        List.of(),
-                    usuarioEncontrado.getActivo()
-            );
-
-            return ResponseEntity.ok(response);
+            // Verificar contraseña en el pool de BCrypt; el hilo del request queda libre
+            return passwordHashingService.verificar(request.password(), usuarioEncontrado.getPassword())
+                    .thenApplyAsync(coincide -> {
+                        if (!coincide) {
+                            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).<AuthResponse>build();
+                        }
+
+                        // Generar token
+                        String token = tokenGenerate.generarToken(usuarioEncontrado);
+                        return ResponseEntity.ok(respuesta(token, usuarioEncontrado));
+                    }, taskExecutor)
+                    .exceptionally(e -> {
+                        logger.error("Error en login de usuario: {}", request.user(), e);
+                        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+                    });
+        } catch (HashingSaturadoException e) {
+            logger.warn("Login rechazado por executor de contraseñas saturado: {}", request.user());
+            return CompletableFuture.completedFuture(servicioSaturado());
         } catch (Exception e) {
-            e.printStackTrace(); // Para debugging
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            logger.error("Error en login de usuario: {}", request.user(), e);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
         }
     }
 
+    // Crear respuesta
+    private AuthResponse respuesta(String token, Usuario usuario) {
+        return new AuthResponse(
+                token,
+                usuario.getUser(),
+                usuario.getEmail(),
+                usuario.getNombre(),
+                usuario.getApellido(),
+                usuario.getRoles() != null ?
+                    usuario.getRoles().stream().map(Rol::getNombre).toList() :
+                    List.of(),
+                usuario.getActivo()
+        );
+    }
+
+    // 503 con Retry-After: el pool de BCrypt está lleno y se rechaza sin esperar
+    private ResponseEntity<AuthResponse> servicioSaturado() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+
     // POST - Validar token
     @PostMapping("/validate")
     public ResponseEntity<AuthResponse> validateToken(@RequestParam String token) {
@@ -225,7 +255,8 @@ public class AuthController {
 
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            e.printStackTrace(); // Para debugging
+            // Token vencido o adulterado: respuesta esperada, sin stack trace
+            logger.debug("Token rechazado en /validate: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
     }
@@ -0,0 +1,50 @@
+package co.com.api.co.com.api.controller;
+
+import co.com.api.co.com.api.dto.Sugerencia;
+import co.com.api.co.com.api.infra.busqueda.AutocompletadoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/autocompletar")
+@CrossOrigin(origins = "*")
+@Tag(name = "Autocompletado", description = "Sugerencias por prefijo para la caja")
+@SecurityRequirement(name = "bearerAuth")
+public class AutocompletarController {
+
+    @Autowired
+    private AutocompletadoService autocompletadoService;
+
+    // GET - Sugerir productos por nombre (?q=<prefijo>&limit=)
+    @Operation(summary = "Autocompletar productos", description = "Productos cuyo nombre tiene una palabra que empieza con el texto")
+    @GetMapping("/productos")
+    public ResponseEntity<List<Sugerencia>> sugerirProductos(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(autocompletadoService.sugerirProductos(q, limit));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // GET - Sugerir clientes por nombre o cédula (?q=<prefijo>&limit=)
+    @Operation(summary = "Autocompletar clientes", description = "Clientes cuyo nombre o cédula empieza con el texto")
+    @GetMapping("/clientes")
+    public ResponseEntity<List<Sugerencia>> sugerirClientes(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(autocompletadoService.sugerirClientes(q, limit));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package co.com.api.co.com.api.controller;
 
 import co.com.api.co.com.api.domain.clientes.Cliente;
+import co.com.api.co.com.api.domain.clientes.ClienteModificadoEvent;
 import co.com.api.co.com.api.domain.clientes.ClienteRepository;
+import co.com.api.co.com.api.dto.Pagina;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,12 +22,20 @@ public class ClienteController {
     @Autowired
     private ClienteRepository clienteRepository;
 
-    // GET - Obtener todos los clientes
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // GET - Obtener todos los clientes (paginado por cursor: ?after=<id>&limit=)
     @GetMapping
-    public ResponseEntity<List<Cliente>> getAllClientes() {
+    public ResponseEntity<Pagina<Cliente>> getAllClientes(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Cliente> clientes = clienteRepository.findAll();
-            return ResponseEntity.ok(clientes);
+            int limite = Pagina.limite(limit);
+            // Se pide una fila de más para saber si hay página siguiente
+            List<Cliente> clientes = clienteRepository.findByIdGreaterThanOrderByIdAsc(
+                    after != null ? after : 0L, Limit.of(limite + 1));
+            return ResponseEntity.ok(Pagina.de(clientes, limite, Cliente::getId));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -82,6 +94,7 @@ public class ClienteController {
             }
 
             Cliente nuevoCliente = clienteRepository.save(cliente);
+            eventPublisher.publishEvent(ClienteModificadoEvent.guardado(nuevoCliente));
             return ResponseEntity.status(HttpStatus.CREATED).body(nuevoCliente);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -105,6 +118,7 @@ public class ClienteController {
             cliente.setDireccion(clienteActualizado.getDireccion());
 
             Cliente clienteGuardado = clienteRepository.save(cliente);
+            eventPublisher.publishEvent(ClienteModificadoEvent.guardado(clienteGuardado));
             return ResponseEntity.ok(clienteGuardado);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -150,6 +164,7 @@ public class ClienteController {
             }
 
             clienteRepository.deleteById(id);
+            eventPublisher.publishEvent(ClienteModificadoEvent.eliminado(id));
             return ResponseEntity.noContent().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -2,14 +2,24 @@ package co.com.api.co.com.api.controller;
 
 import co.com.api.co.com.api.domain.contabilidad.Contabilidad;
 import co.com.api.co.com.api.domain.contabilidad.ContabilidadRepository;
+import co.com.api.co.com.api.domain.contabilidad.ResumenContableMensual;
+import co.com.api.co.com.api.domain.contabilidad.ResumenContableService;
+import co.com.api.co.com.api.dto.Pagina;
+import co.com.api.co.com.api.infra.exportacion.ExportacionService;
+import co.com.api.co.com.api.infra.exportacion.FormatoExportacion;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,12 +33,23 @@ public class ContabilidadController {
     @Autowired
     private ContabilidadRepository contabilidadRepository;
 
-    // GET - Obtener todos los registros contables
+    @Autowired
+    private ExportacionService exportacionService;
+
+    @Autowired
+    private ResumenContableService resumenContableService;
+
+    // GET - Obtener todos los registros contables (paginado por cursor: ?after=<id>&limit=)
     @GetMapping
-    public ResponseEntity<List<Contabilidad>> getAllContabilidad() {
+    public ResponseEntity<Pagina<Contabilidad>> getAllContabilidad(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Contabilidad> contabilidad = contabilidadRepository.findAll();
-            return ResponseEntity.ok(contabilidad);
+            int limite = Pagina.limite(limit);
+            // Se pide una fila de más para saber si hay página siguiente
+            List<Contabilidad> contabilidad = contabilidadRepository.findByIdGreaterThanOrderByIdAsc(
+                    after != null ? after : 0L, Limit.of(limite + 1));
+            return ResponseEntity.ok(Pagina.de(contabilidad, limite, Contabilidad::getId));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -46,17 +67,88 @@ public class ContabilidadController {
         }
     }
 
-    // GET - Obtener registros por rango de fechas
+    // GET - Obtener registros por rango de fechas (paginado por cursor)
     @GetMapping("/fechas")
-    public ResponseEntity<List<Contabilidad>> getContabilidadByFechas(
+    public ResponseEntity<Pagina<Contabilidad>> getContabilidadByFechas(
             @RequestParam String fechaInicio, 
-            @RequestParam String fechaFin) {
+            @RequestParam String fechaFin,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
         try {
             LocalDate inicio = LocalDate.parse(fechaInicio);
             LocalDate fin = LocalDate.parse(fechaFin);
-            List<Contabilidad> contabilidad = contabilidadRepository.findByFechaBetween(inicio, fin);
-            return ResponseEntity.ok(contabilidad);
+            int limite = Pagina.limite(limit);
+
+            List<Contabilidad> contabilidad;
+            if (after == null) {
+                contabilidad = contabilidadRepository.findByFechaBetweenOrderByFechaAscIdAsc(inicio, fin, Limit.of(limite + 1));
+            } else {
+                // El cursor es el id de la última fila; su fecha completa la clave (fecha, id)
+                Optional<LocalDate> fechaCursor = contabilidadRepository.findFechaById(after);
+                if (fechaCursor.isEmpty()) {
+                    return ResponseEntity.badRequest().build();
+                }
+                contabilidad = contabilidadRepository.findSiguientesPorFecha(fechaCursor.get(), after, fin, Limit.of(limite + 1));
+            }
+            return ResponseEntity.ok(Pagina.de(contabilidad, limite, Contabilidad::getId));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // GET - Exportar registros contables de un rango de fechas en NDJSON o CSV (streaming)
+    @GetMapping("/exportar")
+    public void exportarContabilidad(
+            @RequestParam String fechaInicio,
+            @RequestParam String fechaFin,
+            @RequestParam(defaultValue = "ndjson") String formato,
+            HttpServletResponse response) throws IOException {
+        LocalDate inicio;
+        LocalDate fin;
+        FormatoExportacion formatoExportacion;
+        try {
+            inicio = LocalDate.parse(fechaInicio);
+            fin = LocalDate.parse(fechaFin);
+            formatoExportacion = FormatoExportacion.desde(formato);
+        } catch (Exception e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+
+        response.setContentType(formatoExportacion.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"contabilidad_" + inicio + "_" + fin + "." + formatoExportacion.getExtension() + "\"");
+        try {
+            exportacionService.exportarContabilidad(inicio, fin, formatoExportacion, response.getOutputStream());
+        } catch (Exception e) {
+            logger.error("Error al exportar registros contables entre {} y {}", inicio, fin, e);
+            // Si ya se enviaron filas no se puede cambiar el estado de la respuesta
+            if (!response.isCommitted()) {
+                response.reset();
+                response.sendError(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+        }
+    }
+
+    // GET - Resumen contable mensual (?desde=2024-01&hasta=2024-12, ambos opcionales)
+    @GetMapping("/resumen")
+    public ResponseEntity<List<ResumenContableMensual>> getResumenMensual(
+            @RequestParam(required = false) String desde,
+            @RequestParam(required = false) String hasta) {
+        YearMonth mesDesde;
+        YearMonth mesHasta;
+        try {
+            mesDesde = desde != null ? YearMonth.parse(desde) : null;
+            mesHasta = hasta != null ? YearMonth.parse(hasta) : null;
         } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            return ResponseEntity.ok(resumenContableService.consultar(mesDesde, mesHasta));
+        } catch (Exception e) {
+            logger.error("Error al obtener el resumen contable mensual", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -118,13 +210,12 @@ public class ContabilidadController {
                 contabilidad.setDescripcion(contabilidad.getDescripcion().trim());
             }
 
-            Contabilidad nuevoRegistro = contabilidadRepository.save(contabilidad);
+            Contabilidad nuevoRegistro = resumenContableService.registrar(contabilidad);
             logger.info("Registro contable creado exitosamente: ID {}, Tipo: {}, Fecha: {}", 
                        nuevoRegistro.getId(), nuevoRegistro.getTipoMovimiento(), nuevoRegistro.getFecha());
             return ResponseEntity.status(HttpStatus.CREATED).body(nuevoRegistro);
         } catch (Exception e) {
             logger.error("Error al crear registro contable", e);
-            e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -154,13 +245,12 @@ public class ContabilidadController {
                 contabilidad.setDescripcion(contabilidad.getDescripcion().trim());
             }
 
-            Contabilidad nuevoGasto = contabilidadRepository.save(contabilidad);
+            Contabilidad nuevoGasto = resumenContableService.registrar(contabilidad);
             logger.info("Gasto creado exitosamente: ID {}, Monto: {}, Fecha: {}", 
                        nuevoGasto.getId(), nuevoGasto.getGastos(), nuevoGasto.getFecha());
             return ResponseEntity.status(HttpStatus.CREATED).body(nuevoGasto);
         } catch (Exception e) {
             logger.error("Error al crear gasto", e);
-            e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -190,13 +280,12 @@ public class ContabilidadController {
                 contabilidad.setDescripcion(contabilidad.getDescripcion().trim());
             }
 
-            Contabilidad nuevoIngreso = contabilidadRepository.save(contabilidad);
+            Contabilidad nuevoIngreso = resumenContableService.registrar(contabilidad);
             logger.info("Ingreso creado exitosamente: ID {}, Monto: {}, Fecha: {}", 
                        nuevoIngreso.getId(), nuevoIngreso.getIngresos(), nuevoIngreso.getFecha());
             return ResponseEntity.status(HttpStatus.CREATED).body(nuevoIngreso);
         } catch (Exception e) {
             logger.error("Error al crear ingreso", e);
-            e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -205,20 +294,16 @@ public class ContabilidadController {
     @PutMapping("/{id}")
     public ResponseEntity<Contabilidad> updateContabilidad(@PathVariable Long id, @RequestBody Contabilidad contabilidadActualizada) {
         try {
-            Optional<Contabilidad> contabilidadExistente = contabilidadRepository.findById(id);
-            if (contabilidadExistente.isEmpty()) {
-                return ResponseEntity.notFound().build();
-            }
-
-            Contabilidad contabilidad = contabilidadExistente.get();
-            contabilidad.setGastos(contabilidadActualizada.getGastos());
-            contabilidad.setIngresos(contabilidadActualizada.getIngresos());
-            contabilidad.setFecha(contabilidadActualizada.getFecha());
-            contabilidad.setDescripcion(contabilidadActualizada.getDescripcion());
-            contabilidad.setTipoMovimiento(contabilidadActualizada.getTipoMovimiento());
-
-            Contabilidad contabilidadGuardada = contabilidadRepository.save(contabilidad);
-            return ResponseEntity.ok(contabilidadGuardada);
+            // El resumen mensual se ajusta en la misma transacción
+            Optional<Contabilidad> contabilidadGuardada = resumenContableService.actualizar(id, contabilidad -> {
+                contabilidad.setGastos(contabilidadActualizada.getGastos());
+                contabilidad.setIngresos(contabilidadActualizada.getIngresos());
+                contabilidad.setFecha(contabilidadActualizada.getFecha());
+                contabilidad.setDescripcion(contabilidadActualizada.getDescripcion());
+                contabilidad.setTipoMovimiento(contabilidadActualizada.getTipoMovimiento());
+            });
+            return contabilidadGuardada.map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -229,18 +314,14 @@ public class ContabilidadController {
     public ResponseEntity<Contabilidad> updateGasto(@PathVariable Long id, 
                                                    @RequestParam String monto) {
         try {
-            Optional<Contabilidad> contabilidad = contabilidadRepository.findById(id);
-            if (contabilidad.isEmpty()) {
-                return ResponseEntity.notFound().build();
-            }
-
-            Contabilidad contabilidadActualizada = contabilidad.get();
-            contabilidadActualizada.setGastos(new java.math.BigDecimal(monto));
-            contabilidadActualizada.setTipoMovimiento(Contabilidad.TipoMovimiento.GASTO);
-            contabilidadActualizada.setIngresos(java.math.BigDecimal.ZERO);
-
-            Contabilidad contabilidadGuardada = contabilidadRepository.save(contabilidadActualizada);
-            return ResponseEntity.ok(contabilidadGuardada);
+            java.math.BigDecimal nuevoMonto = new java.math.BigDecimal(monto);
+            Optional<Contabilidad> contabilidadGuardada = resumenContableService.actualizar(id, contabilidad -> {
+                contabilidad.setGastos(nuevoMonto);
+                contabilidad.setTipoMovimiento(Contabilidad.TipoMovimiento.GASTO);
+                contabilidad.setIngresos(java.math.BigDecimal.ZERO);
+            });
+            return contabilidadGuardada.map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -251,18 +332,14 @@ public class ContabilidadController {
     public ResponseEntity<Contabilidad> updateIngreso(@PathVariable Long id, 
                                                      @RequestParam String monto) {
         try {
-            Optional<Contabilidad> contabilidad = contabilidadRepository.findById(id);
-            if (contabilidad.isEmpty()) {
-                return ResponseEntity.notFound().build();
-            }
-
-            Contabilidad contabilidadActualizada = contabilidad.get();
-            contabilidadActualizada.setIngresos(new java.math.BigDecimal(monto));
-            contabilidadActualizada.setTipoMovimiento(Contabilidad.TipoMovimiento.INGRESO);
-            contabilidadActualizada.setGastos(java.math.BigDecimal.ZERO);
-
-            Contabilidad contabilidadGuardada = contabilidadRepository.save(contabilidadActualizada);
-            return ResponseEntity.ok(contabilidadGuardada);
+            java.math.BigDecimal nuevoMonto = new java.math.BigDecimal(monto);
+            Optional<Contabilidad> contabilidadGuardada = resumenContableService.actualizar(id, contabilidad -> {
+                contabilidad.setIngresos(nuevoMonto);
+                contabilidad.setTipoMovimiento(Contabilidad.TipoMovimiento.INGRESO);
+                contabilidad.setGastos(java.math.BigDecimal.ZERO);
+            });
+            return contabilidadGuardada.map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -272,11 +349,11 @@ public class ContabilidadController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteContabilidad(@PathVariable Long id) {
         try {
-            if (!contabilidadRepository.existsById(id)) {
+            // Resta el movimiento del resumen mensual antes de borrarlo
+            if (!resumenContableService.eliminar(id)) {
                 return ResponseEntity.notFound().build();
             }
 
-            contabilidadRepository.deleteById(id);
             return ResponseEntity.noContent().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
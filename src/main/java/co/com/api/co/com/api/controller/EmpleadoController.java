@@ -2,7 +2,9 @@ package co.com.api.co.com.api.controller;
 
 import co.com.api.co.com.api.domain.empleados.Empleado;
 import co.com.api.co.com.api.domain.empleados.EmpleadoRepository;
+import co.com.api.co.com.api.dto.Pagina;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -22,12 +24,17 @@ public class EmpleadoController {
     @Autowired
     private EmpleadoRepository empleadoRepository;
 
-    // GET - Obtener todos los empleados
+    // GET - Obtener todos los empleados (paginado por cursor: ?after=<id>&limit=)
     @GetMapping
-    public ResponseEntity<List<Empleado>> getAllEmpleados() {
+    public ResponseEntity<Pagina<Empleado>> getAllEmpleados(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Empleado> empleados = empleadoRepository.findAll();
-            return ResponseEntity.ok(empleados);
+            int limite = Pagina.limite(limit);
+            // Se pide una fila de más para saber si hay página siguiente
+            List<Empleado> empleados = empleadoRepository.findByIdGreaterThanOrderByIdAsc(
+                    after != null ? after : 0L, Limit.of(limite + 1));
+            return ResponseEntity.ok(Pagina.de(empleados, limite, Empleado::getId));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -130,7 +137,6 @@ public class EmpleadoController {
             return ResponseEntity.status(HttpStatus.CREATED).body(nuevoEmpleado);
         } catch (Exception e) {
             logger.error("Error al crear empleado: {}", empleado.getNombre(), e);
-            e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
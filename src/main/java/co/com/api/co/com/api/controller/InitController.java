@@ -6,6 +6,7 @@ import co.com.api.co.com.api.domain.roles.Rol;
 import co.com.api.co.com.api.domain.roles.RolRepository;
 import co.com.api.co.com.api.domain.usuarios.Usuario;
 import co.com.api.co.com.api.domain.usuarios.UsuarioReposotiry;
+import co.com.api.co.com.api.infra.security.SesionCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -31,12 +32,15 @@ public class InitController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private SesionCache sesionCache;
+
     // POST - Inicializar permisos básicos
     @PostMapping("/permisos")
     public ResponseEntity<String> initPermisos() {
         try {
             // Verificar si ya existen permisos
-            if (!permisoRepository.findAll().isEmpty()) {
+            if (permisoRepository.existsByIdNotNull()) {
                 return ResponseEntity.ok("Los permisos ya han sido inicializados anteriormente");
             }
             
@@ -82,7 +86,7 @@ public class InitController {
     public ResponseEntity<String> initRoles() {
         try {
             // Verificar si ya existen roles
-            if (!rolRepository.findAll().isEmpty()) {
+            if (rolRepository.existsByIdNotNull()) {
                 return ResponseEntity.ok("Los roles ya han sido inicializados anteriormente");
             }
             
@@ -119,11 +123,7 @@ public class InitController {
     public ResponseEntity<String> createAdminUser() {
         try {
             // Verificar si ya existe un admin
-            List<Usuario> usuarios = usuarioRepository.findAll();
-            boolean adminExiste = usuarios.stream()
-                .anyMatch(u -> u.getUser().equals("admin"));
-            
-            if (adminExiste) {
+            if (usuarioRepository.existsByUser("admin")) {
                 return ResponseEntity.ok("Usuario administrador ya existe. Usuario: admin, Contraseña: admin123");
             }
 
@@ -155,10 +155,7 @@ public class InitController {
     public ResponseEntity<String> resetAdminPassword() {
         try {
             // Buscar usuario admin
-            List<Usuario> usuarios = usuarioRepository.findAll();
-            Optional<Usuario> adminOpt = usuarios.stream()
-                .filter(u -> u.getUser().equals("admin"))
-                .findFirst();
+            Optional<Usuario> adminOpt = usuarioRepository.findByUser("admin");
             
             if (adminOpt.isEmpty()) {
                 return ResponseEntity.badRequest().body("Usuario admin no encontrado. Ejecute primero /api/init/admin");
@@ -169,6 +166,7 @@ public class InitController {
             admin.setPassword(passwordEncoder.encode("admin123"));
             admin.setActivo(true);
             usuarioRepository.save(admin);
+            sesionCache.invalidarUsuario(admin.getId());
             
             return ResponseEntity.ok("Contraseña del admin reseteada correctamente. Usuario: admin, Contraseña: admin123");
         } catch (Exception e) {
@@ -1,13 +1,22 @@
 package co.com.api.co.com.api.controller;
 
 import co.com.api.co.com.api.domain.inventario.Inventario;
+import co.com.api.co.com.api.domain.inventario.InventarioLineaDetalle;
+import co.com.api.co.com.api.domain.inventario.InventarioLineaId;
+import co.com.api.co.com.api.domain.inventario.InventarioLineaRepository;
+import co.com.api.co.com.api.domain.inventario.InventarioLineasService;
 import co.com.api.co.com.api.domain.inventario.InventarioRepository;
+import co.com.api.co.com.api.domain.inventario.InventarioResumen;
 import co.com.api.co.com.api.domain.empleados.Empleado;
 import co.com.api.co.com.api.domain.empleados.EmpleadoRepository;
 import co.com.api.co.com.api.domain.productos.Producto;
 import co.com.api.co.com.api.domain.productos.ProductoRepository;
 import co.com.api.co.com.api.dto.CreateInventarioRequest;
+import co.com.api.co.com.api.dto.LineaProductoRequest;
+import co.com.api.co.com.api.dto.Pagina;
+import co.com.api.co.com.api.dto.UpdateInventarioRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,7 +24,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -34,17 +45,43 @@ public class InventarioController {
     @Autowired
     private ProductoRepository productoRepository;
 
-    // GET - Obtener todos los inventarios
+    @Autowired
+    private InventarioLineaRepository inventarioLineaRepository;
+
+    @Autowired
+    private InventarioLineasService inventarioLineasService;
+
+    // GET - Obtener todos los inventarios (paginado por cursor: ?after=<id>&limit=)
     @GetMapping
-    public ResponseEntity<List<Inventario>> getAllInventarios() {
-        logger.info("Obteniendo todos los inventarios");
+    public ResponseEntity<Pagina<Inventario>> getAllInventarios(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        logger.debug("Obteniendo todos los inventarios");
         try {
-            List<Inventario> inventarios = inventarioRepository.findAll();
-            logger.info("Se encontraron {} inventarios", inventarios.size());
-            return ResponseEntity.ok(inventarios);
+            int limite = Pagina.limite(limit);
+            // Se pide una fila de más para saber si hay página siguiente
+            List<Inventario> inventarios = inventarioRepository.findByIdGreaterThanOrderByIdAsc(
+                    after != null ? after : 0L, Limit.of(limite + 1));
+            logger.debug("Se encontraron {} inventarios", inventarios.size());
+            return ResponseEntity.ok(Pagina.de(inventarios, limite, Inventario::getId));
         } catch (Exception e) {
             logger.error("Error al obtener inventarios", e);
-            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // GET - Resumen de inventarios para listados (paginado por cursor: ?after=<id>&limit=)
+    @GetMapping("/resumen")
+    public ResponseEntity<Pagina<InventarioResumen>> getResumenInventarios(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            int limite = Pagina.limite(limit);
+            List<InventarioResumen> inventarios = inventarioRepository.findResumenes(
+                    after != null ? after : 0L, Limit.of(limite + 1));
+            return ResponseEntity.ok(Pagina.de(inventarios, limite, InventarioResumen::id));
+        } catch (Exception e) {
+            logger.error("Error al obtener resumen de inventarios", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -52,16 +89,16 @@ public class InventarioController {
     // GET - Obtener inventario por ID
     @GetMapping("/{id}")
     public ResponseEntity<Inventario> getInventarioById(@PathVariable Long id) {
-        logger.info("Obteniendo inventario con ID: {}", id);
+        logger.debug("Obteniendo inventario con ID: {}", id);
         try {
             if (id == null || id <= 0) {
                 logger.warn("ID de inventario inválido: {}", id);
                 return ResponseEntity.badRequest().build();
             }
 
-            Optional<Inventario> inventario = inventarioRepository.findById(id);
+            Optional<Inventario> inventario = inventarioRepository.findDetalleById(id);
             if (inventario.isPresent()) {
-                logger.info("Inventario encontrado: ID {}, Responsable: {}", 
+                logger.debug("Inventario encontrado: ID {}, Responsable: {}", 
                            inventario.get().getId(), inventario.get().getResponsable().getId());
                 return ResponseEntity.ok(inventario.get());
             } else {
@@ -70,7 +107,6 @@ public class InventarioController {
             }
         } catch (Exception e) {
             logger.error("Error al obtener inventario con ID: {}", id, e);
-            e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -94,7 +130,7 @@ public class InventarioController {
     // POST - Crear nuevo inventario (usando DTO)
     @PostMapping
     public ResponseEntity<Inventario> createInventario(@RequestBody CreateInventarioRequest request) {
-        logger.info("Intentando crear inventario para responsable ID: {}", request.responsableId());
+        logger.debug("Intentando crear inventario para responsable ID: {}", request.responsableId());
         try {
             // Validar datos de entrada
             if (request.responsableId() == null) {
@@ -115,26 +151,23 @@ public class InventarioController {
             inventario.setDescripcion(request.descripcion() != null ? request.descripcion().trim() : null);
             inventario.setUltimaActualizacion(LocalDateTime.now());
 
-            // Agregar productos si se proporcionan
-            if (request.productoIds() != null && !request.productoIds().isEmpty()) {
-                List<Producto> productos = productoRepository.findAllById(request.productoIds());
-                if (productos.size() != request.productoIds().size()) {
-                    logger.warn("Algunos productos no existen. IDs proporcionados: {}, productos encontrados: {}", 
-                               request.productoIds(), productos.stream().map(Producto::getId).toList());
-                    return ResponseEntity.badRequest().build();
-                }
-                inventario.setProductos(productos);
+            // Cantidades por producto: cada ID en productoIds cuenta como una unidad
+            Map<Long, Integer> cantidades = cantidadesPorProducto(request.productoIds(), request.lineas());
+            if (cantidades == null) {
+                logger.warn("Líneas de inventario inválidas: {}", request.lineas());
+                return ResponseEntity.badRequest().build();
+            }
+            if (!productosExisten(cantidades)) {
+                return ResponseEntity.badRequest().build();
             }
 
-            Inventario nuevoInventario = inventarioRepository.save(inventario);
+            Inventario nuevoInventario = inventarioLineasService.crear(inventario, cantidades);
             logger.info("Inventario creado exitosamente: ID {}, Responsable: {}, Productos: {}", 
-                       nuevoInventario.getId(), nuevoInventario.getResponsable().getId(), 
-                       nuevoInventario.getProductos() != null ? nuevoInventario.getProductos().size() : 0);
+                       nuevoInventario.getId(), nuevoInventario.getResponsable().getId(), cantidades.size());
             
             return ResponseEntity.status(HttpStatus.CREATED).body(nuevoInventario);
         } catch (Exception e) {
             logger.error("Error al crear inventario para responsable ID: {}", request.responsableId(), e);
-            e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -142,7 +175,7 @@ public class InventarioController {
     // POST - Crear nuevo inventario (usando entidad completa - para debugging)
     @PostMapping("/debug")
     public ResponseEntity<Inventario> createInventarioDebug(@RequestBody Inventario inventario) {
-        logger.info("Intentando crear inventario (debug) para responsable: {}", 
+        logger.debug("Intentando crear inventario (debug) para responsable: {}", 
                    inventario.getResponsable() != null ? inventario.getResponsable().getId() : "null");
         try {
             // Validar datos de entrada
@@ -168,14 +201,14 @@ public class InventarioController {
             return ResponseEntity.status(HttpStatus.CREATED).body(nuevoInventario);
         } catch (Exception e) {
             logger.error("Error al crear inventario (debug)", e);
-            e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
-    // PUT - Actualizar inventario
+    // PUT - Actualizar inventario. Si llegan productos o lineas reemplazan todas las
+    // líneas del inventario; si no llegan, las líneas quedan como estaban.
     @PutMapping("/{id}")
-    public ResponseEntity<Inventario> updateInventario(@PathVariable Long id, @RequestBody Inventario inventarioActualizado) {
+    public ResponseEntity<Inventario> updateInventario(@PathVariable Long id, @RequestBody UpdateInventarioRequest request) {
         try {
             Optional<Inventario> inventarioExistente = inventarioRepository.findById(id);
             if (inventarioExistente.isEmpty()) {
@@ -183,74 +216,106 @@ public class InventarioController {
             }
 
             Inventario inventario = inventarioExistente.get();
-            inventario.setDescripcion(inventarioActualizado.getDescripcion());
-            inventario.setProductos(inventarioActualizado.getProductos());
+            inventario.setDescripcion(request.descripcion());
             inventario.setUltimaActualizacion(LocalDateTime.now());
 
             // Verificar que el responsable existe si se está actualizando
-            if (inventarioActualizado.getResponsable() != null && inventarioActualizado.getResponsable().getId() != null) {
-                Optional<Empleado> responsable = empleadoRepository.findById(inventarioActualizado.getResponsable().getId());
+            if (request.responsable() != null && request.responsable().id() != null) {
+                Optional<Empleado> responsable = empleadoRepository.findById(request.responsable().id());
                 if (responsable.isEmpty()) {
                     return ResponseEntity.badRequest().build();
                 }
                 inventario.setResponsable(responsable.get());
             }
 
-            Inventario inventarioGuardado = inventarioRepository.save(inventario);
+            Map<Long, Integer> cantidades = null;
+            if (request.productos() != null || request.lineas() != null) {
+                List<Long> productoIds = request.productos() == null ? null : request.productos().stream()
+                        .map(producto -> producto != null ? producto.id() : null)
+                        .toList();
+                cantidades = cantidadesPorProducto(productoIds, request.lineas());
+                if (cantidades == null || !productosExisten(cantidades)) {
+                    return ResponseEntity.badRequest().build();
+                }
+            }
+
+            Inventario inventarioGuardado = inventarioLineasService.actualizar(inventario, cantidades);
             return ResponseEntity.ok(inventarioGuardado);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
-    // PATCH - Agregar producto al inventario
-    @PatchMapping("/{id}/agregar-producto")
-    public ResponseEntity<Inventario> agregarProducto(@PathVariable Long id, @RequestParam Long productoId) {
+    // GET - Líneas del inventario con su cantidad (paginado por cursor: ?after=<productoId>&limit=)
+    @GetMapping("/{id}/lineas")
+    public ResponseEntity<Pagina<InventarioLineaDetalle>> getLineas(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
         try {
-            Optional<Inventario> inventario = inventarioRepository.findById(id);
-            if (inventario.isEmpty()) {
+            if (!inventarioRepository.existsById(id)) {
                 return ResponseEntity.notFound().build();
             }
 
-            Optional<Producto> producto = productoRepository.findById(productoId);
-            if (producto.isEmpty()) {
+            int limite = Pagina.limite(limit);
+            List<InventarioLineaDetalle> lineas = inventarioLineaRepository.findDetalles(
+                    id, after != null ? after : 0L, Limit.of(limite + 1));
+            return ResponseEntity.ok(Pagina.de(lineas, limite, InventarioLineaDetalle::productoId));
+        } catch (Exception e) {
+            logger.error("Error al obtener líneas del inventario ID: {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // PATCH - Agregar producto al inventario (suma la cantidad si ya estaba)
+    @PatchMapping("/{id}/agregar-producto")
+    public ResponseEntity<InventarioLineaDetalle> agregarProducto(@PathVariable Long id,
+                                                                  @RequestParam Long productoId,
+                                                                  @RequestParam(defaultValue = "1") Integer cantidad) {
+        try {
+            if (cantidad == null || cantidad <= 0) {
                 return ResponseEntity.badRequest().build();
             }
-
-            Inventario inventarioActualizado = inventario.get();
-            if (!inventarioActualizado.getProductos().contains(producto.get())) {
-                inventarioActualizado.getProductos().add(producto.get());
-                inventarioActualizado.setUltimaActualizacion(LocalDateTime.now());
-                inventarioRepository.save(inventarioActualizado);
+            if (!inventarioRepository.existsById(id)) {
+                return ResponseEntity.notFound().build();
+            }
+            if (!productoRepository.existsById(productoId)) {
+                return ResponseEntity.badRequest().build();
             }
 
-            return ResponseEntity.ok(inventarioActualizado);
+            Optional<InventarioLineaDetalle> linea = inventarioLineasService.agregar(id, productoId, cantidad);
+            return linea.map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
         } catch (Exception e) {
+            logger.error("Error al agregar producto {} al inventario ID: {}", productoId, id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
-    // PATCH - Remover producto del inventario
+    // PATCH - Remover producto del inventario. Sin cantidad quita la línea completa;
+    // con cantidad la descuenta. Responde 204 si la línea ya no existe.
     @PatchMapping("/{id}/remover-producto")
-    public ResponseEntity<Inventario> removerProducto(@PathVariable Long id, @RequestParam Long productoId) {
+    public ResponseEntity<InventarioLineaDetalle> removerProducto(@PathVariable Long id,
+                                                                  @RequestParam Long productoId,
+                                                                  @RequestParam(required = false) Integer cantidad) {
         try {
-            Optional<Inventario> inventario = inventarioRepository.findById(id);
-            if (inventario.isEmpty()) {
-                return ResponseEntity.notFound().build();
-            }
-
-            Optional<Producto> producto = productoRepository.findById(productoId);
-            if (producto.isEmpty()) {
+            if (cantidad != null && cantidad <= 0) {
                 return ResponseEntity.badRequest().build();
             }
 
-            Inventario inventarioActualizado = inventario.get();
-            inventarioActualizado.getProductos().remove(producto.get());
-            inventarioActualizado.setUltimaActualizacion(LocalDateTime.now());
-            inventarioRepository.save(inventarioActualizado);
+            if (!inventarioLineasService.remover(id, productoId, cantidad)) {
+                // La línea existe pero no tiene unidades suficientes
+                if (inventarioLineaRepository.existsById(new InventarioLineaId(id, productoId))) {
+                    return ResponseEntity.status(HttpStatus.CONFLICT).build();
+                }
+                return ResponseEntity.notFound().build();
+            }
 
-            return ResponseEntity.ok(inventarioActualizado);
+            Optional<InventarioLineaDetalle> linea = inventarioLineaRepository.findDetalle(id, productoId);
+            return linea.map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.noContent().build());
         } catch (Exception e) {
+            logger.error("Error al remover producto {} del inventario ID: {}", productoId, id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -294,4 +359,41 @@ public class InventarioController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    // productoIds cuenta una unidad por ID y lineas suma su cantidad. Devuelve null si
+    // alguna línea es inválida.
+    private Map<Long, Integer> cantidadesPorProducto(List<Long> productoIds, List<LineaProductoRequest> lineas) {
+        Map<Long, Integer> cantidades = new LinkedHashMap<>();
+        if (productoIds != null) {
+            for (Long productoId : productoIds) {
+                if (productoId == null) {
+                    return null;
+                }
+                cantidades.merge(productoId, 1, Integer::sum);
+            }
+        }
+        if (lineas != null) {
+            for (LineaProductoRequest linea : lineas) {
+                if (linea == null || linea.productoId() == null
+                        || linea.cantidad() == null || linea.cantidad() <= 0) {
+                    return null;
+                }
+                cantidades.merge(linea.productoId(), linea.cantidad(), Integer::sum);
+            }
+        }
+        return cantidades;
+    }
+
+    private boolean productosExisten(Map<Long, Integer> cantidades) {
+        if (cantidades.isEmpty()) {
+            return true;
+        }
+        List<Producto> productos = productoRepository.findAllById(cantidades.keySet());
+        if (productos.size() != cantidades.size()) {
+            logger.warn("Algunos productos no existen. IDs proporcionados: {}, productos encontrados: {}", 
+                       cantidades.keySet(), productos.stream().map(Producto::getId).toList());
+            return false;
+        }
+        return true;
+    }
 }
@@ -0,0 +1,71 @@
+package co.com.api.co.com.api.controller;
+
+import co.com.api.co.com.api.domain.contabilidad.Contabilidad;
+import co.com.api.co.com.api.domain.productos.ProductoEstado;
+import co.com.api.co.com.api.domain.ventas.VentaResumen;
+import co.com.api.co.com.api.infra.reactivo.ConsultasReactivas;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+// Lecturas de tableros en NDJSON, una fila por línea. El hilo de Tomcat se libera al
+// devolver el Flux; Spring MVC escribe cada fila cuando la anterior terminó de enviarse,
+// así que un cliente lento frena la consulta en lugar de llenar la memoria.
+@RestController
+@RequestMapping("/api/reactivo")
+@CrossOrigin(origins = "*")
+@ConditionalOnProperty(name = "api.reactivo.enabled", havingValue = "true")
+@Tag(name = "Lectura reactiva", description = "Consultas de catálogo, ventas y contabilidad en streaming")
+@SecurityRequirement(name = "bearerAuth")
+public class LecturaReactivaController {
+
+    @Autowired
+    private ConsultasReactivas consultasReactivas;
+
+    // GET - Catálogo de productos (?categoria=&after=<id> para retomar un stream cortado)
+    @GetMapping(value = "/productos", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<ProductoEstado>> getProductos(
+            @RequestParam(required = false) String categoria,
+            @RequestParam(required = false) Long after) {
+        return ResponseEntity.ok(consultasReactivas.productos(categoria, after));
+    }
+
+    // GET - Ventas por rango de fechas
+    @GetMapping(value = "/ventas", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<VentaResumen>> getVentasByFechas(
+            @RequestParam String fechaInicio,
+            @RequestParam String fechaFin) {
+        LocalDate inicio;
+        LocalDate fin;
+        try {
+            inicio = LocalDate.parse(fechaInicio);
+            fin = LocalDate.parse(fechaFin);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(consultasReactivas.ventasPorFecha(inicio, fin));
+    }
+
+    // GET - Registros contables por rango de fechas
+    @GetMapping(value = "/contabilidad", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<Contabilidad>> getContabilidadByFechas(
+            @RequestParam String fechaInicio,
+            @RequestParam String fechaFin) {
+        LocalDate inicio;
+        LocalDate fin;
+        try {
+            inicio = LocalDate.parse(fechaInicio);
+            fin = LocalDate.parse(fechaFin);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(consultasReactivas.contabilidadPorFecha(inicio, fin));
+    }
+}
@@ -2,7 +2,11 @@ package co.com.api.co.com.api.controller;
 
 import co.com.api.co.com.api.domain.roles.Permiso;
 import co.com.api.co.com.api.domain.roles.PermisoRepository;
+import co.com.api.co.com.api.domain.roles.RegistroPermisos;
+import co.com.api.co.com.api.dto.Pagina;
+import co.com.api.co.com.api.infra.security.SesionCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,12 +22,23 @@ public class PermisoController {
     @Autowired
     private PermisoRepository permisoRepository;
 
-    // GET - Obtener todos los permisos
+    @Autowired
+    private SesionCache sesionCache;
+
+    @Autowired
+    private RegistroPermisos registroPermisos;
+
+    // GET - Obtener todos los permisos (paginado por cursor: ?after=<id>&limit=)
     @GetMapping
-    public ResponseEntity<List<Permiso>> getAllPermisos() {
+    public ResponseEntity<Pagina<Permiso>> getAllPermisos(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Permiso> permisos = permisoRepository.findAll();
-            return ResponseEntity.ok(permisos);
+            int limite = Pagina.limite(limit);
+            // Se pide una fila de más para saber si hay página siguiente
+            List<Permiso> permisos = permisoRepository.findByIdGreaterThanOrderByIdAsc(
+                    after != null ? after : 0L, Limit.of(limite + 1));
+            return ResponseEntity.ok(Pagina.de(permisos, limite, Permiso::getId));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -57,9 +72,8 @@ public class PermisoController {
     @GetMapping("/recurso/{recurso}")
     public ResponseEntity<List<Permiso>> getPermisosByRecurso(@PathVariable String recurso) {
         try {
-            List<Permiso> permisos = permisoRepository.findAll().stream()
-                    .filter(p -> p.getRecurso() != null && p.getRecurso().equalsIgnoreCase(recurso))
-                    .toList();
+            // La collation de la columna ya compara sin distinguir mayúsculas
+            List<Permiso> permisos = permisoRepository.findByRecurso(recurso);
             return ResponseEntity.ok(permisos);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -71,9 +85,7 @@ public class PermisoController {
     public ResponseEntity<List<Permiso>> getPermisosByAccion(@PathVariable String accion) {
         try {
             Permiso.Accion accionEnum = Permiso.Accion.valueOf(accion.toUpperCase());
-            List<Permiso> permisos = permisoRepository.findAll().stream()
-                    .filter(p -> p.getAccion() == accionEnum)
-                    .toList();
+            List<Permiso> permisos = permisoRepository.findByAccion(accionEnum);
             return ResponseEntity.ok(permisos);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
@@ -113,6 +125,9 @@ public class PermisoController {
             permiso.setAccion(permisoActualizado.getAccion());
 
             Permiso permisoGuardado = permisoRepository.save(permiso);
+            // El nombre del permiso es la authority de los usuarios que lo tienen
+            registroPermisos.registrarPermiso(permisoGuardado);
+            sesionCache.invalidarTodo();
             return ResponseEntity.ok(permisoGuardado);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -186,6 +201,8 @@ public class PermisoController {
             }
 
             permisoRepository.deleteById(id);
+            registroPermisos.eliminarPermiso(id);
+            sesionCache.invalidarTodo();
             return ResponseEntity.noContent().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -1,18 +1,36 @@
 package co.com.api.co.com.api.controller;
 
+import co.com.api.co.com.api.domain.productos.FacetasCategoria;
+import co.com.api.co.com.api.domain.productos.MonitorStockBajo;
 import co.com.api.co.com.api.domain.productos.Producto;
+import co.com.api.co.com.api.domain.productos.ProductoEstado;
+import co.com.api.co.com.api.domain.productos.ProductoModificadoEvent;
 import co.com.api.co.com.api.domain.productos.ProductoRepository;
+import co.com.api.co.com.api.domain.productos.VencimientoProductos;
+import co.com.api.co.com.api.dto.FacetaCategoria;
+import co.com.api.co.com.api.dto.Pagina;
+import co.com.api.co.com.api.infra.busqueda.IndiceProductos;
+import co.com.api.co.com.api.infra.notificaciones.NotificadorStockBajo;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/productos")
@@ -26,12 +44,35 @@ public class ProductoController {
     @Autowired
     private ProductoRepository productoRepository;
 
-    // GET - Obtener todos los productos
+    @Autowired
+    private IndiceProductos indiceProductos;
+
+    @Autowired
+    private FacetasCategoria facetasCategoria;
+
+    @Autowired
+    private MonitorStockBajo monitorStockBajo;
+
+    @Autowired
+    private NotificadorStockBajo notificadorStockBajo;
+
+    @Autowired
+    private VencimientoProductos vencimientoProductos;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // GET - Obtener todos los productos (paginado por cursor: ?after=<id>&limit=)
     @GetMapping
-    public ResponseEntity<List<Producto>> getAllProductos() {
+    public ResponseEntity<Pagina<Producto>> getAllProductos(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Producto> productos = productoRepository.findAll();
-            return ResponseEntity.ok(productos);
+            int limite = Pagina.limite(limit);
+            // Se pide una fila de más para saber si hay página siguiente
+            List<Producto> productos = productoRepository.findByIdGreaterThanOrderByIdAsc(
+                    after != null ? after : 0L, Limit.of(limite + 1));
+            return ResponseEntity.ok(Pagina.de(productos, limite, Producto::getId));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -60,23 +101,106 @@ public class ProductoController {
         }
     }
 
-    // GET - Obtener productos con stock bajo
+    // GET - Productos que vencen en los próximos días, por fecha de vencimiento
+    // (paginado por cursor: ?after=<id>&limit=)
+    @GetMapping("/por-vencer")
+    public ResponseEntity<Pagina<Producto>> getProductosPorVencer(
+            @RequestParam(defaultValue = "30") Integer dias,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            if (dias < 0) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            int limite = Pagina.limite(limit);
+            List<Long> ids = vencimientoProductos.porVencer(dias, after, limite + 1);
+            Map<Long, Producto> porId = productoRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Producto::getId, Function.identity()));
+            List<Producto> productos = ids.stream()
+                    .map(porId::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            return ResponseEntity.ok(Pagina.de(productos, limite, Producto::getId));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // GET - Cantidad de productos, stock total y valor del stock por categoría
+    // (contadores en memoria, sin GROUP BY sobre productos)
+    @GetMapping("/categorias/facetas")
+    public ResponseEntity<List<FacetaCategoria>> getFacetasCategoria() {
+        try {
+            return ResponseEntity.ok(facetasCategoria.listar());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // GET - Totales de una categoría
+    @GetMapping("/categorias/facetas/{categoria}")
+    public ResponseEntity<FacetaCategoria> getFacetaCategoria(@PathVariable String categoria) {
+        try {
+            FacetaCategoria faceta = facetasCategoria.obtener(categoria);
+            return faceta != null ? ResponseEntity.ok(faceta) : ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // GET - Obtener productos con stock bajo, del menor al mayor stock.
+    // Los ids salen del índice en memoria; solo se leen por clave primaria.
     @GetMapping("/stock-bajo/{stock}")
     public ResponseEntity<List<Producto>> getProductosStockBajo(@PathVariable Integer stock) {
         try {
-            List<Producto> productos = productoRepository.findByStockLessThan(stock);
+            List<Long> ids = monitorStockBajo.debajoDe(stock).stream()
+                    .map(ProductoEstado::id)
+                    .toList();
+            Map<Long, Producto> porId = productoRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Producto::getId, Function.identity()));
+            List<Producto> productos = ids.stream()
+                    .map(porId::get)
+                    .filter(Objects::nonNull)
+                    .toList();
             return ResponseEntity.ok(productos);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
-    // GET - Buscar productos por nombre
+    // GET - Suscripción SSE a los cruces del umbral de stock bajo (api.productos.stock-bajo.umbral).
+    // Eventos: "inicial" con los productos ya bajo el umbral, luego "stock-bajo" y "stock-recuperado".
+    @GetMapping(value = "/stock-bajo/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter suscribirStockBajo() {
+        return notificadorStockBajo.suscribir();
+    }
+
+    // GET - Buscar productos por nombre o categoría, ordenados por relevancia.
+    // Usa el índice invertido en memoria; ?after= es la posición en el ranking
+    // (el siguienteCursor de la página anterior), no un id.
     @GetMapping("/buscar")
-    public ResponseEntity<List<Producto>> buscarProductos(@RequestParam String nombre) {
+    public ResponseEntity<Pagina<Producto>> buscarProductos(
+            @RequestParam String nombre,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Producto> productos = productoRepository.findByNombreContainingIgnoreCase(nombre);
-            return ResponseEntity.ok(productos);
+            int limite = Pagina.limite(limit);
+            int desde = after != null ? (int) Math.max(0, Math.min(after, Integer.MAX_VALUE)) : 0;
+            List<Long> ids = indiceProductos.buscar(nombre, desde, limite + 1);
+            boolean hayMas = ids.size() > limite;
+            if (hayMas) {
+                ids = ids.subList(0, limite);
+            }
+
+            // Una sola consulta por clave primaria y se respeta el orden del ranking
+            Map<Long, Producto> porId = productoRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Producto::getId, Function.identity()));
+            List<Producto> productos = ids.stream()
+                    .map(porId::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            return ResponseEntity.ok(new Pagina<>(productos, hayMas ? (long) desde + limite : null));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -118,13 +242,16 @@ public class ProductoController {
             // Limpiar y preparar datos
             producto.setNombre(producto.getNombre().trim());
             producto.setCategoria(producto.getCategoria().trim());
+            producto.setEstadoVencimiento(vencimientoProductos.estadoPara(producto.getFechaVencimiento()));
+            // La versión la asigna JPA; una enviada en el cuerpo haría que save() lo trate como existente
+            producto.setVersion(null);
 
             Producto nuevoProducto = productoRepository.save(producto);
+            eventPublisher.publishEvent(ProductoModificadoEvent.guardado(nuevoProducto));
             logger.info("Producto creado exitosamente: {} (ID: {})", nuevoProducto.getNombre(), nuevoProducto.getId());
             return ResponseEntity.status(HttpStatus.CREATED).body(nuevoProducto);
         } catch (Exception e) {
             logger.error("Error al crear producto: {}", producto.getNombre(), e);
-            e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -142,12 +269,18 @@ public class ProductoController {
             producto.setNombre(productoActualizado.getNombre());
             producto.setFechaExpiracion(productoActualizado.getFechaExpiracion());
             producto.setFechaVencimiento(productoActualizado.getFechaVencimiento());
+            producto.setEstadoVencimiento(vencimientoProductos.estadoPara(productoActualizado.getFechaVencimiento()));
             producto.setCategoria(productoActualizado.getCategoria());
             producto.setStock(productoActualizado.getStock());
             producto.setPrecio(productoActualizado.getPrecio());
 
             Producto productoGuardado = productoRepository.save(producto);
+            eventPublisher.publishEvent(ProductoModificadoEvent.guardado(productoGuardado));
             return ResponseEntity.ok(productoGuardado);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Otra escritura (una venta o un ajuste de stock) cambió el producto entre la lectura y el guardado
+            logger.warn("Conflicto de versión al actualizar producto ID {}", id);
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -157,15 +290,46 @@ public class ProductoController {
     @PatchMapping("/{id}/stock")
     public ResponseEntity<Producto> updateStock(@PathVariable Long id, @RequestParam Integer nuevoStock) {
         try {
-            Optional<Producto> producto = productoRepository.findById(id);
-            if (producto.isEmpty()) {
+            if (nuevoStock == null || nuevoStock < 0) {
+                logger.warn("Stock de producto inválido: {}", nuevoStock);
+                return ResponseEntity.badRequest().build();
+            }
+
+            // UPDATE directo: no se pierde un descuento concurrente hecho entre la lectura y el guardado
+            if (productoRepository.actualizarStock(id, nuevoStock) == 0) {
                 return ResponseEntity.notFound().build();
             }
 
-            Producto productoActualizado = producto.get();
-            productoActualizado.setStock(nuevoStock);
-            Producto productoGuardado = productoRepository.save(productoActualizado);
-            return ResponseEntity.ok(productoGuardado);
+            return productoRepository.findById(id)
+                    .map(producto -> {
+                        eventPublisher.publishEvent(ProductoModificadoEvent.guardado(producto));
+                        return ResponseEntity.ok(producto);
+                    })
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // PATCH - Ajustar stock de producto sumando o restando unidades
+    @PatchMapping("/{id}/stock/ajuste")
+    public ResponseEntity<Producto> ajustarStock(@PathVariable Long id, @RequestParam Integer cantidad) {
+        try {
+            if (productoRepository.ajustarStock(id, cantidad) == 0) {
+                // Sin filas: el producto no existe o el ajuste dejaría el stock en negativo
+                if (!productoRepository.existsById(id)) {
+                    return ResponseEntity.notFound().build();
+                }
+                logger.warn("Ajuste de stock rechazado para producto ID {}: cantidad {}", id, cantidad);
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+
+            return productoRepository.findById(id)
+                    .map(producto -> {
+                        eventPublisher.publishEvent(ProductoModificadoEvent.guardado(producto));
+                        return ResponseEntity.ok(producto);
+                    })
+                    .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -180,6 +344,7 @@ public class ProductoController {
             }
 
             productoRepository.deleteById(id);
+            eventPublisher.publishEvent(ProductoModificadoEvent.eliminado(id));
             return ResponseEntity.noContent().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -2,7 +2,9 @@ package co.com.api.co.com.api.controller;
 
 import co.com.api.co.com.api.domain.proveedores.Proveedor;
 import co.com.api.co.com.api.domain.proveedores.ProveedorRepository;
+import co.com.api.co.com.api.dto.Pagina;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -22,12 +24,17 @@ public class ProveedorController {
     @Autowired
     private ProveedorRepository proveedorRepository;
 
-    // GET - Obtener todos los proveedores
+    // GET - Obtener todos los proveedores (paginado por cursor: ?after=<id>&limit=)
     @GetMapping
-    public ResponseEntity<List<Proveedor>> getAllProveedores() {
+    public ResponseEntity<Pagina<Proveedor>> getAllProveedores(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Proveedor> proveedores = proveedorRepository.findAll();
-            return ResponseEntity.ok(proveedores);
+            int limite = Pagina.limite(limit);
+            // Se pide una fila de más para saber si hay página siguiente
+            List<Proveedor> proveedores = proveedorRepository.findByIdGreaterThanOrderByIdAsc(
+                    after != null ? after : 0L, Limit.of(limite + 1));
+            return ResponseEntity.ok(Pagina.de(proveedores, limite, Proveedor::getId));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -126,7 +133,6 @@ public class ProveedorController {
             return ResponseEntity.status(HttpStatus.CREATED).body(nuevoProveedor);
         } catch (Exception e) {
             logger.error("Error al crear proveedor: {}", proveedor.getNombre(), e);
-            e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
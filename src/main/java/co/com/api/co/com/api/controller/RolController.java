@@ -4,7 +4,11 @@ import co.com.api.co.com.api.domain.roles.Rol;
 import co.com.api.co.com.api.domain.roles.RolRepository;
 import co.com.api.co.com.api.domain.roles.Permiso;
 import co.com.api.co.com.api.domain.roles.PermisoRepository;
+import co.com.api.co.com.api.domain.roles.RegistroPermisos;
+import co.com.api.co.com.api.dto.Pagina;
+import co.com.api.co.com.api.infra.security.SesionCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -23,12 +27,23 @@ public class RolController {
     @Autowired
     private PermisoRepository permisoRepository;
 
-    // GET - Obtener todos los roles
+    @Autowired
+    private SesionCache sesionCache;
+
+    @Autowired
+    private RegistroPermisos registroPermisos;
+
+    // GET - Obtener todos los roles (paginado por cursor: ?after=<id>&limit=)
     @GetMapping
-    public ResponseEntity<List<Rol>> getAllRoles() {
+    public ResponseEntity<Pagina<Rol>> getAllRoles(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Rol> roles = rolRepository.findAll();
-            return ResponseEntity.ok(roles);
+            int limite = Pagina.limite(limit);
+            // Se pide una fila de más para saber si hay página siguiente
+            List<Rol> roles = rolRepository.findByIdGreaterThanOrderByIdAsc(
+                    after != null ? after : 0L, Limit.of(limite + 1));
+            return ResponseEntity.ok(Pagina.de(roles, limite, Rol::getId));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -90,6 +105,9 @@ public class RolController {
             rol.setPermisos(rolActualizado.getPermisos());
 
             Rol rolGuardado = rolRepository.save(rol);
+            // Cambian las authorities de todos los usuarios con este rol
+            registroPermisos.recalcularRol(rolGuardado);
+            sesionCache.invalidarTodo();
             return ResponseEntity.ok(rolGuardado);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -114,6 +132,8 @@ public class RolController {
             if (!rolActualizado.getPermisos().contains(permiso.get())) {
                 rolActualizado.getPermisos().add(permiso.get());
                 rolRepository.save(rolActualizado);
+                registroPermisos.recalcularRol(rolActualizado);
+                sesionCache.invalidarTodo();
             }
 
             return ResponseEntity.ok(rolActualizado);
@@ -139,6 +159,8 @@ public class RolController {
             Rol rolActualizado = rol.get();
             rolActualizado.getPermisos().remove(permiso.get());
             rolRepository.save(rolActualizado);
+            registroPermisos.recalcularRol(rolActualizado);
+            sesionCache.invalidarTodo();
 
             return ResponseEntity.ok(rolActualizado);
         } catch (Exception e) {
@@ -174,6 +196,8 @@ public class RolController {
             }
 
             rolRepository.deleteById(id);
+            registroPermisos.eliminarRol(id);
+            sesionCache.invalidarTodo();
             return ResponseEntity.noContent().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -5,7 +5,10 @@ import co.com.api.co.com.api.domain.usuarios.UsuarioReposotiry;
 import co.com.api.co.com.api.domain.roles.Rol;
 import co.com.api.co.com.api.domain.roles.RolRepository;
 import co.com.api.co.com.api.dto.UpdateUsuarioRequest;
+import co.com.api.co.com.api.dto.Pagina;
+import co.com.api.co.com.api.infra.security.SesionCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -32,12 +35,20 @@ public class UsuarioController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
-    // GET - Obtener todos los usuarios
+    @Autowired
+    private SesionCache sesionCache;
+
+    // GET - Obtener todos los usuarios (paginado por cursor: ?after=<id>&limit=)
     @GetMapping
-    public ResponseEntity<List<Usuario>> getAllUsuarios() {
+    public ResponseEntity<Pagina<Usuario>> getAllUsuarios(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Usuario> usuarios = usuarioRepository.findAll();
-            return ResponseEntity.ok(usuarios);
+            int limite = Pagina.limite(limit);
+            // Se pide una fila de más para saber si hay página siguiente
+            List<Usuario> usuarios = usuarioRepository.findByIdGreaterThanOrderByIdAsc(
+                    after != null ? after : 0L, Limit.of(limite + 1));
+            return ResponseEntity.ok(Pagina.de(usuarios, limite, Usuario::getId));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -59,11 +70,7 @@ public class UsuarioController {
     @GetMapping("/user/{user}")
     public ResponseEntity<Usuario> getUsuarioByUser(@PathVariable String user) {
         try {
-            // Buscar por nombre de usuario usando findAll y filtrar
-            List<Usuario> usuarios = usuarioRepository.findAll();
-            Optional<Usuario> usuario = usuarios.stream()
-                    .filter(u -> u.getUser().equals(user))
-                    .findFirst();
+            Optional<Usuario> usuario = usuarioRepository.findByUser(user);
             return usuario.map(ResponseEntity::ok)
                     .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
@@ -87,9 +94,7 @@ public class UsuarioController {
     @GetMapping("/activos")
     public ResponseEntity<List<Usuario>> getUsuariosActivos() {
         try {
-            List<Usuario> usuarios = usuarioRepository.findAll().stream()
-                    .filter(Usuario::getActivo)
-                    .toList();
+            List<Usuario> usuarios = usuarioRepository.findByActivoTrue();
             return ResponseEntity.ok(usuarios);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -101,16 +106,12 @@ public class UsuarioController {
     public ResponseEntity<Usuario> createUsuario(@RequestBody Usuario usuario) {
         try {
             // Verificar si ya existe un usuario con el mismo nombre de usuario
-            List<Usuario> usuarios = usuarioRepository.findAll();
-            boolean usuarioExiste = usuarios.stream()
-                    .anyMatch(u -> u.getUser().equals(usuario.getUser()));
-            if (usuarioExiste) {
+            if (usuarioRepository.existsByUser(usuario.getUser())) {
                 return ResponseEntity.status(HttpStatus.CONFLICT).build();
             }
 
             // Verificar si ya existe un usuario con el mismo email
-            Optional<Usuario> usuarioConEmail = usuarioRepository.findByEmail(usuario.getEmail());
-            if (usuarioConEmail.isPresent()) {
+            if (usuarioRepository.existsByEmail(usuario.getEmail())) {
                 return ResponseEntity.status(HttpStatus.CONFLICT).build();
             }
 
@@ -211,12 +212,13 @@ public class UsuarioController {
 
             // Guardar usuario actualizado
             Usuario usuarioGuardado = usuarioRepository.save(usuario);
+            // Puede haber cambiado usuario, contraseña, estado o roles: se descartan sus sesiones en cache
+            sesionCache.invalidarUsuario(id);
             logger.info("Usuario actualizado exitosamente: {} (ID: {})", usuarioGuardado.getUser(), usuarioGuardado.getId());
             
             return ResponseEntity.ok(usuarioGuardado);
         } catch (Exception e) {
             logger.error("Error al actualizar usuario con ID: {}", id, e);
-            e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -245,6 +247,7 @@ public class UsuarioController {
             }
 
             Usuario usuarioGuardado = usuarioRepository.save(usuarioActualizado);
+            sesionCache.invalidarUsuario(id);
             return ResponseEntity.ok(usuarioGuardado);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -279,12 +282,12 @@ public class UsuarioController {
             String passwordEncriptada = passwordEncoder.encode(nuevaPassword.trim());
             usuarioActualizado.setPassword(passwordEncriptada);
             usuarioRepository.save(usuarioActualizado);
+            sesionCache.invalidarUsuario(id);
 
             logger.info("Contraseña actualizada exitosamente para usuario: {}", usuarioActualizado.getUser());
             return ResponseEntity.ok(usuarioActualizado);
         } catch (Exception e) {
             logger.error("Error al cambiar contraseña para usuario ID: {}", id, e);
-            e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -301,6 +304,7 @@ public class UsuarioController {
             Usuario usuarioActualizado = usuario.get();
             usuarioActualizado.setActivo(!usuarioActualizado.getActivo());
             usuarioRepository.save(usuarioActualizado);
+            sesionCache.invalidarUsuario(id);
 
             return ResponseEntity.ok(usuarioActualizado);
         } catch (Exception e) {
@@ -326,6 +330,7 @@ public class UsuarioController {
             if (!usuarioActualizado.getRoles().contains(rol.get())) {
                 usuarioActualizado.getRoles().add(rol.get());
                 usuarioRepository.save(usuarioActualizado);
+                sesionCache.invalidarUsuario(id);
             }
 
             return ResponseEntity.ok(usuarioActualizado);
@@ -351,6 +356,7 @@ public class UsuarioController {
             Usuario usuarioActualizado = usuario.get();
             usuarioActualizado.getRoles().remove(rol.get());
             usuarioRepository.save(usuarioActualizado);
+            sesionCache.invalidarUsuario(id);
 
             return ResponseEntity.ok(usuarioActualizado);
         } catch (Exception e) {
@@ -367,6 +373,7 @@ public class UsuarioController {
             }
 
             usuarioRepository.deleteById(id);
+            sesionCache.invalidarUsuario(id);
             return ResponseEntity.noContent().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
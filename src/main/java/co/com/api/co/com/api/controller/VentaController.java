@@ -1,23 +1,39 @@
 package co.com.api.co.com.api.controller;
 
+import co.com.api.co.com.api.domain.ventas.CargaVentasService;
+import co.com.api.co.com.api.domain.ventas.StockInsuficienteException;
+import co.com.api.co.com.api.domain.ventas.StockLedgerService;
 import co.com.api.co.com.api.domain.ventas.Venta;
 import co.com.api.co.com.api.domain.ventas.VentaRepository;
+import co.com.api.co.com.api.domain.ventas.VentaResumen;
 import co.com.api.co.com.api.domain.clientes.Cliente;
 import co.com.api.co.com.api.domain.clientes.ClienteRepository;
 import co.com.api.co.com.api.domain.empleados.Empleado;
 import co.com.api.co.com.api.domain.empleados.EmpleadoRepository;
 import co.com.api.co.com.api.domain.productos.Producto;
 import co.com.api.co.com.api.domain.productos.ProductoRepository;
+import co.com.api.co.com.api.dto.CargaVentasResponse;
 import co.com.api.co.com.api.dto.CreateVentaRequest;
+import co.com.api.co.com.api.dto.LineaProductoRequest;
+import co.com.api.co.com.api.dto.Pagina;
+import co.com.api.co.com.api.infra.exportacion.ExportacionService;
+import co.com.api.co.com.api.infra.exportacion.FormatoExportacion;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -27,6 +43,9 @@ public class VentaController {
 
     private static final Logger logger = LoggerFactory.getLogger(VentaController.class);
 
+    // Máximo de ventas aceptadas en una carga masiva
+    private static final int MAX_VENTAS_POR_CARGA = 10_000;
+
     @Autowired
     private VentaRepository ventaRepository;
 
@@ -39,12 +58,42 @@ public class VentaController {
     @Autowired
     private ProductoRepository productoRepository;
 
-    // GET - Obtener todas las ventas
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private CargaVentasService cargaVentasService;
+
+    @Autowired
+    private ExportacionService exportacionService;
+
+    // GET - Obtener todas las ventas (paginado por cursor: ?after=<id>&limit=)
     @GetMapping
-    public ResponseEntity<List<Venta>> getAllVentas() {
+    public ResponseEntity<Pagina<Venta>> getAllVentas(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Venta> ventas = ventaRepository.findAll();
-            return ResponseEntity.ok(ventas);
+            int limite = Pagina.limite(limit);
+            // Se pide una fila de más para saber si hay página siguiente
+            List<Long> ids = ventaRepository.findIdsSiguientes(
+                    after != null ? after : 0L, Limit.of(limite + 1));
+            List<Venta> ventas = ventaRepository.findByIdIn(ids, Sort.by("id"));
+            return ResponseEntity.ok(Pagina.de(ventas, limite, Venta::getId));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // GET - Resumen de ventas para listados (paginado por cursor: ?after=<id>&limit=)
+    @GetMapping("/resumen")
+    public ResponseEntity<Pagina<VentaResumen>> getResumenVentas(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            int limite = Pagina.limite(limit);
+            List<VentaResumen> ventas = ventaRepository.findResumenes(
+                    after != null ? after : 0L, Limit.of(limite + 1));
+            return ResponseEntity.ok(Pagina.de(ventas, limite, VentaResumen::id));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -54,7 +103,7 @@ public class VentaController {
     @GetMapping("/{id}")
     public ResponseEntity<Venta> getVentaById(@PathVariable Long id) {
         try {
-            Optional<Venta> venta = ventaRepository.findById(id);
+            Optional<Venta> venta = ventaRepository.findDetalleById(id);
             return venta.map(ResponseEntity::ok)
                     .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
@@ -94,21 +143,71 @@ public class VentaController {
         }
     }
 
-    // GET - Obtener ventas por rango de fechas
+    // GET - Obtener ventas por rango de fechas (paginado por cursor)
     @GetMapping("/fechas")
-    public ResponseEntity<List<Venta>> getVentasByFechas(
+    public ResponseEntity<Pagina<Venta>> getVentasByFechas(
             @RequestParam String fechaInicio, 
-            @RequestParam String fechaFin) {
+            @RequestParam String fechaFin,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
         try {
             LocalDate inicio = LocalDate.parse(fechaInicio);
             LocalDate fin = LocalDate.parse(fechaFin);
-            List<Venta> ventas = ventaRepository.findByFechaBetween(inicio, fin);
-            return ResponseEntity.ok(ventas);
+            int limite = Pagina.limite(limit);
+
+            List<Long> ids;
+            if (after == null) {
+                ids = ventaRepository.findIdsPorFecha(inicio, fin, Limit.of(limite + 1));
+            } else {
+                // El cursor es el id de la última fila; su fecha completa la clave (fecha, id)
+                Optional<LocalDate> fechaCursor = ventaRepository.findFechaById(after);
+                if (fechaCursor.isEmpty()) {
+                    return ResponseEntity.badRequest().build();
+                }
+                ids = ventaRepository.findIdsSiguientesPorFecha(fechaCursor.get(), after, fin, Limit.of(limite + 1));
+            }
+            List<Venta> ventas = ventaRepository.findByIdIn(ids, Sort.by("fecha", "id"));
+            return ResponseEntity.ok(Pagina.de(ventas, limite, Venta::getId));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    // GET - Exportar ventas de un rango de fechas en NDJSON o CSV (streaming)
+    @GetMapping("/exportar")
+    public void exportarVentas(
+            @RequestParam String fechaInicio,
+            @RequestParam String fechaFin,
+            @RequestParam(defaultValue = "ndjson") String formato,
+            HttpServletResponse response) throws IOException {
+        LocalDate inicio;
+        LocalDate fin;
+        FormatoExportacion formatoExportacion;
+        try {
+            inicio = LocalDate.parse(fechaInicio);
+            fin = LocalDate.parse(fechaFin);
+            formatoExportacion = FormatoExportacion.desde(formato);
+        } catch (Exception e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+
+        response.setContentType(formatoExportacion.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"ventas_" + inicio + "_" + fin + "." + formatoExportacion.getExtension() + "\"");
+        try {
+            exportacionService.exportarVentas(inicio, fin, formatoExportacion, response.getOutputStream());
+        } catch (Exception e) {
+            logger.error("Error al exportar ventas entre {} y {}", inicio, fin, e);
+            // Si ya se enviaron filas no se puede cambiar el estado de la respuesta
+            if (!response.isCommitted()) {
+                response.reset();
+                response.sendError(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+        }
+    }
+
     // GET - Obtener ventas por estado
     @GetMapping("/estado/{estado}")
     public ResponseEntity<List<Venta>> getVentasByEstado(@PathVariable String estado) {
@@ -124,7 +223,7 @@ public class VentaController {
     // POST - Crear nueva venta
     @PostMapping
     public ResponseEntity<Venta> createVenta(@RequestBody CreateVentaRequest request) {
-        logger.info("Intentando crear venta para cliente ID: {} y vendedor ID: {}", request.clienteId(), request.vendedorId());
+        logger.debug("Intentando crear venta para cliente ID: {} y vendedor ID: {}", request.clienteId(), request.vendedorId());
         try {
             // Validar datos de entrada
             if (request.clienteId() == null) {
@@ -182,27 +281,72 @@ public class VentaController {
                 venta.setEstado(Venta.EstadoVenta.PENDIENTE);
             }
 
-            // Agregar productos si se proporcionan
-            if (request.productoIds() != null && !request.productoIds().isEmpty()) {
-                List<Producto> productos = productoRepository.findAllById(request.productoIds());
-                if (productos.size() != request.productoIds().size()) {
-                    logger.warn("Algunos productos no existen. IDs proporcionados: {}, productos encontrados: {}", 
-                               request.productoIds(), productos.stream().map(Producto::getId).toList());
-                    return ResponseEntity.badRequest().build();
+            // Cantidades por producto: cada ID en productoIds cuenta como una unidad
+            Map<Long, Integer> cantidades = new LinkedHashMap<>();
+            if (request.productoIds() != null) {
+                for (Long productoId : request.productoIds()) {
+                    if (productoId == null) {
+                        logger.warn("ID de producto nulo en la venta");
+                        return ResponseEntity.badRequest().build();
+                    }
+                    cantidades.merge(productoId, 1, Integer::sum);
+                }
+            }
+            if (request.detalles() != null) {
+                for (LineaProductoRequest detalle : request.detalles()) {
+                    if (detalle == null || detalle.productoId() == null
+                            || detalle.cantidad() == null || detalle.cantidad() <= 0) {
+                        logger.warn("Detalle de venta inválido: {}", detalle);
+                        return ResponseEntity.badRequest().build();
+                    }
+                    cantidades.merge(detalle.productoId(), detalle.cantidad(), Integer::sum);
                 }
-                venta.setProductos(productos);
             }
 
-            Venta nuevaVenta = ventaRepository.save(venta);
-            logger.info("Venta creada exitosamente: ID {}, Cliente: {}, Vendedor: {}, Valor: {}", 
-                       nuevaVenta.getId(), nuevaVenta.getCliente().getId(), 
+            // Guarda la venta, sus detalles y descuenta el stock en una sola transacción
+            Venta nuevaVenta = stockLedgerService.registrarVenta(venta, cantidades);
+            logger.info("Venta creada exitosamente: ID {}, Cliente: {}, Vendedor: {}, Valor: {}",
+                       nuevaVenta.getId(), nuevaVenta.getCliente().getId(),
                        nuevaVenta.getVendedor().getId(), nuevaVenta.getValorVenta());
-            
+
             return ResponseEntity.status(HttpStatus.CREATED).body(nuevaVenta);
+        } catch (StockInsuficienteException e) {
+            logger.warn("Stock insuficiente para crear venta. Productos: {}", e.getProductoIds());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            logger.warn("No se pudo crear la venta: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             logger.error("Error al crear venta para cliente ID: {} y vendedor ID: {}", 
                         request.clienteId(), request.vendedorId(), e);
-            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // POST - Carga masiva de ventas (cierre de día de los POS)
+    @PostMapping("/lote")
+    public ResponseEntity<CargaVentasResponse> cargarVentas(@RequestBody List<CreateVentaRequest> ventas) {
+        try {
+            if (ventas == null || ventas.isEmpty()) {
+                logger.warn("Carga masiva de ventas vacía");
+                return ResponseEntity.badRequest().build();
+            }
+
+            if (ventas.size() > MAX_VENTAS_POR_CARGA) {
+                logger.warn("Carga masiva de ventas excede el máximo: {}", ventas.size());
+                return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+            }
+
+            CargaVentasResponse resultado = cargaVentasService.cargar(ventas);
+            logger.info("Carga masiva de ventas: {} recibidas, {} creadas, {} con error",
+                       resultado.recibidas(), resultado.creadas(), resultado.errores().size());
+
+            return ResponseEntity.ok(resultado);
+        } catch (StockInsuficienteException e) {
+            logger.warn("Stock insuficiente durante la carga masiva. Productos: {}", e.getProductoIds());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            logger.error("Error en la carga masiva de ventas", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
@@ -211,7 +355,7 @@ public class VentaController {
     @PutMapping("/{id}")
     public ResponseEntity<Venta> updateVenta(@PathVariable Long id, @RequestBody Venta ventaActualizada) {
         try {
-            Optional<Venta> ventaExistente = ventaRepository.findById(id);
+            Optional<Venta> ventaExistente = ventaRepository.findDetalleById(id);
             if (ventaExistente.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
@@ -241,8 +385,8 @@ public class VentaController {
                 venta.setVendedor(vendedor.get());
             }
 
-            Venta ventaGuardada = ventaRepository.save(venta);
-            return ResponseEntity.ok(ventaGuardada);
+            ventaRepository.save(venta);
+            return ResponseEntity.ok(ventaRepository.findDetalleById(id).orElseThrow());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -252,7 +396,7 @@ public class VentaController {
     @PatchMapping("/{id}/estado")
     public ResponseEntity<Venta> updateEstado(@PathVariable Long id, @RequestParam String estado) {
         try {
-            Optional<Venta> venta = ventaRepository.findById(id);
+            Optional<Venta> venta = ventaRepository.findDetalleById(id);
             if (venta.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
@@ -272,7 +416,7 @@ public class VentaController {
     @PatchMapping("/{id}/agregar-producto")
     public ResponseEntity<Venta> agregarProducto(@PathVariable Long id, @RequestParam Long productoId) {
         try {
-            Optional<Venta> venta = ventaRepository.findById(id);
+            Optional<Venta> venta = ventaRepository.findDetalleById(id);
             if (venta.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
@@ -283,7 +427,10 @@ public class VentaController {
             }
 
             Venta ventaActualizada = venta.get();
-            if (!ventaActualizada.getProductos().contains(producto.get())) {
+            // Se compara por id: la venta y el producto vienen de consultas distintas
+            boolean yaIncluido = ventaActualizada.getProductos().stream()
+                    .anyMatch(incluido -> incluido.getId().equals(productoId));
+            if (!yaIncluido) {
                 ventaActualizada.getProductos().add(producto.get());
                 ventaRepository.save(ventaActualizada);
             }
@@ -298,7 +445,7 @@ public class VentaController {
     @PatchMapping("/{id}/remover-producto")
     public ResponseEntity<Venta> removerProducto(@PathVariable Long id, @RequestParam Long productoId) {
         try {
-            Optional<Venta> venta = ventaRepository.findById(id);
+            Optional<Venta> venta = ventaRepository.findDetalleById(id);
             if (venta.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
@@ -309,7 +456,7 @@ public class VentaController {
             }
 
             Venta ventaActualizada = venta.get();
-            ventaActualizada.getProductos().remove(producto.get());
+            ventaActualizada.getProductos().removeIf(incluido -> incluido.getId().equals(productoId));
             ventaRepository.save(ventaActualizada);
 
             return ResponseEntity.ok(ventaActualizada);
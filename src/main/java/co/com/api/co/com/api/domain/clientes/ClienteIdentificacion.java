@@ -0,0 +1,9 @@
+package co.com.api.co.com.api.domain.clientes;
+
+// Nombre y cédula de un cliente, leídos con una proyección JPQL para cargar el
+// autocompletado sin materializar entidades
+public record ClienteIdentificacion(
+    Long id,
+    String nombre,
+    String cedula
+) {}
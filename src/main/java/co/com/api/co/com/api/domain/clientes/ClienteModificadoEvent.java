@@ -0,0 +1,21 @@
+package co.com.api.co.com.api.domain.clientes;
+
+// Se publica después de crear, modificar o eliminar un cliente.
+// cliente es el nombre y la cédula ya guardados, o null si se eliminó.
+public record ClienteModificadoEvent(
+    Long clienteId,
+    ClienteIdentificacion cliente
+) {
+    public static ClienteModificadoEvent guardado(Cliente cliente) {
+        return new ClienteModificadoEvent(cliente.getId(),
+                new ClienteIdentificacion(cliente.getId(), cliente.getNombre(), cliente.getCedula()));
+    }
+
+    public static ClienteModificadoEvent eliminado(Long clienteId) {
+        return new ClienteModificadoEvent(clienteId, null);
+    }
+
+    public boolean esEliminacion() {
+        return cliente == null;
+    }
+}
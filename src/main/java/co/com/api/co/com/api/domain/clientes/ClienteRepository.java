@@ -1,11 +1,23 @@
 package co.com.api.co.com.api.domain.clientes;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ClienteRepository extends JpaRepository<Cliente, Long> {
     Optional<Cliente> findByCedula(String cedula);
     Optional<Cliente> findByCorreo(String correo);
+
+    // Paginación por cursor: seek sobre la clave primaria
+    List<Cliente> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Nombre y cédula por bloques de id, sin entidades (carga del autocompletado)
+    @Query("select new co.com.api.co.com.api.domain.clientes.ClienteIdentificacion(c.id, c.nombre, c.cedula) " +
+           "from Cliente c where c.id > :id order by c.id asc")
+    List<ClienteIdentificacion> findIdentificaciones(@Param("id") Long id, Limit limit);
 }
@@ -1,12 +1,55 @@
 package co.com.api.co.com.api.domain.contabilidad;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ContabilidadRepository extends JpaRepository<Contabilidad, Long> {
     List<Contabilidad> findByFechaBetween(LocalDate fechaInicio, LocalDate fechaFin);
     List<Contabilidad> findByTipoMovimiento(Contabilidad.TipoMovimiento tipoMovimiento);
+
+    // Paginación por cursor: seek sobre la clave primaria
+    List<Contabilidad> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Paginación por cursor dentro de un rango de fechas: seek sobre (fecha, id),
+    // que recorre idx_contabilidad_fecha en orden sin ordenar en memoria
+    List<Contabilidad> findByFechaBetweenOrderByFechaAscIdAsc(LocalDate fechaInicio, LocalDate fechaFin, Limit limit);
+
+    @Query("select c from Contabilidad c where c.fecha <= :fechaFin " +
+           "and (c.fecha > :fecha or (c.fecha = :fecha and c.id > :id)) " +
+           "order by c.fecha asc, c.id asc")
+    List<Contabilidad> findSiguientesPorFecha(@Param("fecha") LocalDate fecha, @Param("id") Long id,
+                                      @Param("fechaFin") LocalDate fechaFin, Limit limit);
+
+    // SELECT ... FOR UPDATE: dos cambios simultáneos del mismo movimiento se serializan
+    // y cada uno revierte del resumen el aporte que de verdad quedó guardado
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Contabilidad c where c.id = :id")
+    Optional<Contabilidad> findConBloqueoById(@Param("id") Long id);
+
+    @Query("select c.fecha from Contabilidad c where c.id = :id")
+    Optional<LocalDate> findFechaById(@Param("id") Long id);
+
+    // Cursor de solo avance para exportar (fetch size Integer.MIN_VALUE en MySQL).
+    // Quien lo recorre debe hacer detach de cada fila ya escrita.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from Contabilidad c where c.fecha between :fechaInicio and :fechaFin " +
+           "order by c.fecha asc, c.id asc")
+    Stream<Contabilidad> streamByFechaBetween(@Param("fechaInicio") LocalDate fechaInicio,
+                                              @Param("fechaFin") LocalDate fechaFin);
 }
@@ -0,0 +1,68 @@
+package co.com.api.co.com.api.domain.contabilidad;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+
+// Totales por mes de la tabla contabilidad. Solo se modifica con los upserts de
+// ResumenContableMensualRepository, nunca guardando la entidad.
+@Entity
+@Table(name = "resumen_contable_mensual")
+public class ResumenContableMensual {
+    // anio * 100 + mes, por ejemplo 202401
+    @Id
+    private Integer periodo;
+
+    @Column(nullable = false)
+    private Integer anio;
+
+    @Column(nullable = false)
+    private Integer mes;
+
+    @Column(name = "total_ingresos", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalIngresos;
+
+    @Column(name = "total_gastos", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalGastos;
+
+    @Column(name = "cantidad_ingresos", nullable = false)
+    private Long cantidadIngresos;
+
+    @Column(name = "cantidad_gastos", nullable = false)
+    private Long cantidadGastos;
+
+    // Constructores
+    public ResumenContableMensual() {}
+
+    // Getters
+    public Integer getPeriodo() {
+        return periodo;
+    }
+
+    public Integer getAnio() {
+        return anio;
+    }
+
+    public Integer getMes() {
+        return mes;
+    }
+
+    public BigDecimal getTotalIngresos() {
+        return totalIngresos;
+    }
+
+    public BigDecimal getTotalGastos() {
+        return totalGastos;
+    }
+
+    public BigDecimal getUtilidadNeta() {
+        return totalIngresos.subtract(totalGastos);
+    }
+
+    public Long getCantidadIngresos() {
+        return cantidadIngresos;
+    }
+
+    public Long getCantidadGastos() {
+        return cantidadGastos;
+    }
+}
@@ -0,0 +1,94 @@
+package co.com.api.co.com.api.domain.contabilidad;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// Escribe los movimientos contables y mantiene resumen_contable_mensual en la misma
+// transacción: cada cambio suma o resta su aporte al mes con un upsert, sin volver a
+// recorrer la tabla contabilidad.
+@Service
+public class ResumenContableService {
+
+    @Autowired
+    private ContabilidadRepository contabilidadRepository;
+
+    @Autowired
+    private ResumenContableMensualRepository resumenRepository;
+
+    @Transactional
+    public Contabilidad registrar(Contabilidad contabilidad) {
+        Contabilidad guardado = contabilidadRepository.save(contabilidad);
+        acumular(guardado, 1);
+        return guardado;
+    }
+
+    // Aplica los cambios sobre el movimiento existente: primero se resta su aporte
+    // anterior (puede cambiar de mes o de tipo) y luego se suma el nuevo. La lectura
+    // bloquea la fila para que otro cambio no reste el mismo aporte anterior.
+    @Transactional
+    public Optional<Contabilidad> actualizar(Long id, Consumer<Contabilidad> cambios) {
+        Optional<Contabilidad> existente = contabilidadRepository.findConBloqueoById(id);
+        if (existente.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Contabilidad contabilidad = existente.get();
+        acumular(contabilidad, -1);
+        cambios.accept(contabilidad);
+        Contabilidad guardado = contabilidadRepository.save(contabilidad);
+        acumular(guardado, 1);
+        return Optional.of(guardado);
+    }
+
+    @Transactional
+    public boolean eliminar(Long id) {
+        Optional<Contabilidad> existente = contabilidadRepository.findConBloqueoById(id);
+        if (existente.isEmpty()) {
+            return false;
+        }
+
+        acumular(existente.get(), -1);
+        contabilidadRepository.delete(existente.get());
+        return true;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ResumenContableMensual> consultar(YearMonth desde, YearMonth hasta) {
+        if (desde == null && hasta == null) {
+            return resumenRepository.findAllByOrderByPeriodoDesc();
+        }
+        Integer periodoDesde = desde != null ? periodo(desde) : 0;
+        Integer periodoHasta = hasta != null ? periodo(hasta) : Integer.MAX_VALUE;
+        return resumenRepository.findByPeriodoBetweenOrderByPeriodoDesc(periodoDesde, periodoHasta);
+    }
+
+    // signo 1 suma el movimiento al resumen de su mes, -1 lo revierte
+    private void acumular(Contabilidad contabilidad, int signo) {
+        LocalDate fecha = contabilidad.getFecha();
+        BigDecimal ingresos = contabilidad.getIngresos() != null ? contabilidad.getIngresos() : BigDecimal.ZERO;
+        BigDecimal gastos = contabilidad.getGastos() != null ? contabilidad.getGastos() : BigDecimal.ZERO;
+        Contabilidad.TipoMovimiento tipo = contabilidad.getTipoMovimiento();
+        BigDecimal factor = BigDecimal.valueOf(signo);
+
+        resumenRepository.acumular(
+                periodo(YearMonth.from(fecha)),
+                fecha.getYear(),
+                fecha.getMonthValue(),
+                ingresos.multiply(factor),
+                gastos.multiply(factor),
+                tipo == Contabilidad.TipoMovimiento.INGRESO ? signo : 0,
+                tipo == Contabilidad.TipoMovimiento.GASTO ? signo : 0);
+    }
+
+    private static Integer periodo(YearMonth mes) {
+        return mes.getYear() * 100 + mes.getMonthValue();
+    }
+}
@@ -1,10 +1,14 @@
 package co.com.api.co.com.api.domain.empleados;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDate;
 
 @Entity
 @Table(name = "empleados")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "empleados")
 public class Empleado {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
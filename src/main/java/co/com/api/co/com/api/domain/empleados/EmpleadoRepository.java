@@ -1,11 +1,16 @@
 package co.com.api.co.com.api.domain.empleados;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EmpleadoRepository extends JpaRepository<Empleado, Long> {
     Optional<Empleado> findByCedula(String cedula);
     Optional<Empleado> findByCorreo(String correo);
+
+    // Paginación por cursor: seek sobre la clave primaria
+    List<Empleado> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
@@ -1,27 +1,19 @@
 package co.com.api.co.com.api.domain.inventario;
 
-import co.com.api.co.com.api.domain.productos.Producto;
 import co.com.api.co.com.api.domain.empleados.Empleado;
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
-import java.util.List;
 
+// Los productos y sus cantidades viven en InventarioLinea (inventario_productos) y se
+// modifican fila por fila; el inventario no carga la colección completa.
 @Entity
 @Table(name = "inventario")
+@NamedEntityGraph(name = "Inventario.detalle", attributeNodes = @NamedAttributeNode("responsable"))
 public class Inventario {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @ManyToMany
-    @JoinTable(
-        name = "inventario_productos",
-        joinColumns = @JoinColumn(name = "inventario_id"),
-        inverseJoinColumns = @JoinColumn(name = "producto_id")
-    )
-    private List<Producto> productos;
-    
     @ManyToOne
     @JoinColumn(name = "responsable_id", nullable = false)
     private Empleado responsable;
@@ -35,9 +27,7 @@ public class Inventario {
     // Constructores
     public Inventario() {}
     
-    public Inventario(List<Producto> productos, Empleado responsable, 
-                     LocalDateTime ultimaActualizacion, String descripcion) {
-        this.productos = productos;
+    public Inventario(Empleado responsable, LocalDateTime ultimaActualizacion, String descripcion) {
         this.responsable = responsable;
         this.ultimaActualizacion = ultimaActualizacion;
         this.descripcion = descripcion;
@@ -52,14 +42,6 @@ public class Inventario {
         this.id = id;
     }
     
-    public List<Producto> getProductos() {
-        return productos;
-    }
-    
-    public void setProductos(List<Producto> productos) {
-        this.productos = productos;
-    }
-    
     public Empleado getResponsable() {
         return responsable;
     }
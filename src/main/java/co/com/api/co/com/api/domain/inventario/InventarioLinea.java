@@ -0,0 +1,55 @@
+package co.com.api.co.com.api.domain.inventario;
+
+import co.com.api.co.com.api.domain.productos.Producto;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Cantidad de un producto en un inventario. Se escribe con sentencias puntuales de
+// InventarioLineaRepository (upsert y UPDATE condicional), nunca reescribiendo
+// todas las líneas del inventario.
+@Entity
+@Table(name = "inventario_productos")
+public class InventarioLinea {
+    @EmbeddedId
+    private InventarioLineaId id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("inventarioId")
+    @JoinColumn(name = "inventario_id")
+    private Inventario inventario;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("productoId")
+    @JoinColumn(name = "producto_id")
+    private Producto producto;
+
+    @Column(nullable = false)
+    private Integer cantidad;
+
+    @Column(name = "ultima_actualizacion", nullable = false)
+    private LocalDateTime ultimaActualizacion;
+
+    // Constructores
+    public InventarioLinea() {}
+
+    // Getters
+    public InventarioLineaId getId() {
+        return id;
+    }
+
+    public Inventario getInventario() {
+        return inventario;
+    }
+
+    public Producto getProducto() {
+        return producto;
+    }
+
+    public Integer getCantidad() {
+        return cantidad;
+    }
+
+    public LocalDateTime getUltimaActualizacion() {
+        return ultimaActualizacion;
+    }
+}
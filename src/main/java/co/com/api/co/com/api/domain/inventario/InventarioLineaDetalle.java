@@ -0,0 +1,12 @@
+package co.com.api.co.com.api.domain.inventario;
+
+import java.time.LocalDateTime;
+
+// Línea de inventario con los datos del producto, leída con una proyección JPQL
+public record InventarioLineaDetalle(
+    Long productoId,
+    String nombre,
+    String categoria,
+    Integer cantidad,
+    LocalDateTime ultimaActualizacion
+) {}
@@ -0,0 +1,48 @@
+package co.com.api.co.com.api.domain.inventario;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class InventarioLineaId implements Serializable {
+    @Column(name = "inventario_id")
+    private Long inventarioId;
+
+    @Column(name = "producto_id")
+    private Long productoId;
+
+    // Constructores
+    public InventarioLineaId() {}
+
+    public InventarioLineaId(Long inventarioId, Long productoId) {
+        this.inventarioId = inventarioId;
+        this.productoId = productoId;
+    }
+
+    // Getters
+    public Long getInventarioId() {
+        return inventarioId;
+    }
+
+    public Long getProductoId() {
+        return productoId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof InventarioLineaId otro)) {
+            return false;
+        }
+        return Objects.equals(inventarioId, otro.inventarioId) && Objects.equals(productoId, otro.productoId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(inventarioId, productoId);
+    }
+}
@@ -0,0 +1,71 @@
+package co.com.api.co.com.api.domain.inventario;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InventarioLineaRepository extends JpaRepository<InventarioLinea, InventarioLineaId> {
+
+    // Suma la cantidad a la línea o la crea si el producto no estaba en el inventario.
+    // Un solo statement sobre la clave primaria, sin leer las demás líneas. Declara la
+    // tabla que modifica para que Hibernate no vacíe toda la caché de segundo nivel.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "inventario_productos"))
+    @Query(value = "INSERT INTO inventario_productos (inventario_id, producto_id, cantidad, ultima_actualizacion) " +
+                   "VALUES (:inventarioId, :productoId, :cantidad, CURRENT_TIMESTAMP) " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "cantidad = cantidad + VALUES(cantidad), " +
+                   "ultima_actualizacion = VALUES(ultima_actualizacion)",
+           nativeQuery = true)
+    int sumar(@Param("inventarioId") Long inventarioId,
+              @Param("productoId") Long productoId,
+              @Param("cantidad") int cantidad);
+
+    // Resta solo si alcanza: 0 filas si la línea no existe o quedaría negativa
+    @Modifying
+    @Query("update InventarioLinea l set l.cantidad = l.cantidad - :cantidad, l.ultimaActualizacion = CURRENT_TIMESTAMP " +
+           "where l.id.inventarioId = :inventarioId and l.id.productoId = :productoId and l.cantidad >= :cantidad")
+    int restar(@Param("inventarioId") Long inventarioId,
+               @Param("productoId") Long productoId,
+               @Param("cantidad") int cantidad);
+
+    @Modifying
+    @Query("delete from InventarioLinea l where l.id.inventarioId = :inventarioId and l.id.productoId = :productoId")
+    int eliminar(@Param("inventarioId") Long inventarioId, @Param("productoId") Long productoId);
+
+    @Modifying
+    @Query("delete from InventarioLinea l where l.id.inventarioId = :inventarioId")
+    int eliminarTodas(@Param("inventarioId") Long inventarioId);
+
+    // Borra la línea que quedó en cero después de restar
+    @Modifying
+    @Query("delete from InventarioLinea l " +
+           "where l.id.inventarioId = :inventarioId and l.id.productoId = :productoId and l.cantidad = 0")
+    int eliminarSiVacia(@Param("inventarioId") Long inventarioId, @Param("productoId") Long productoId);
+
+    @Query("select new co.com.api.co.com.api.domain.inventario.InventarioLineaDetalle(" +
+           "p.id, p.nombre, p.categoria, l.cantidad, l.ultimaActualizacion) " +
+           "from InventarioLinea l join l.producto p " +
+           "where l.id.inventarioId = :inventarioId and l.id.productoId = :productoId")
+    Optional<InventarioLineaDetalle> findDetalle(@Param("inventarioId") Long inventarioId,
+                                                 @Param("productoId") Long productoId);
+
+    // Paginación por cursor sobre el id de producto dentro del inventario
+    @Query("select new co.com.api.co.com.api.domain.inventario.InventarioLineaDetalle(" +
+           "p.id, p.nombre, p.categoria, l.cantidad, l.ultimaActualizacion) " +
+           "from InventarioLinea l join l.producto p " +
+           "where l.id.inventarioId = :inventarioId and l.id.productoId > :productoId " +
+           "order by l.id.productoId asc")
+    List<InventarioLineaDetalle> findDetalles(@Param("inventarioId") Long inventarioId,
+                                              @Param("productoId") Long despuesDeProductoId,
+                                              Limit limit);
+}
@@ -0,0 +1,67 @@
+package co.com.api.co.com.api.domain.inventario;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+// Altas y bajas de productos en un inventario. Cada operación es una sentencia sobre
+// la clave (inventario, producto) más el UPDATE de ultima_actualizacion del
+// inventario: el costo no depende de cuántas líneas tenga.
+@Service
+public class InventarioLineasService {
+
+    @Autowired
+    private InventarioLineaRepository inventarioLineaRepository;
+
+    @Autowired
+    private InventarioRepository inventarioRepository;
+
+    @Transactional
+    public Optional<InventarioLineaDetalle> agregar(Long inventarioId, Long productoId, int cantidad) {
+        inventarioLineaRepository.sumar(inventarioId, productoId, cantidad);
+        inventarioRepository.marcarActualizado(inventarioId, LocalDateTime.now());
+        return inventarioLineaRepository.findDetalle(inventarioId, productoId);
+    }
+
+    // Alta de un inventario con sus líneas: el inventario y todas las cantidades se
+    // confirman juntos o no se confirma nada
+    @Transactional
+    public Inventario crear(Inventario inventario, Map<Long, Integer> cantidades) {
+        Inventario nuevo = inventarioRepository.save(inventario);
+        cantidades.forEach((productoId, cantidad) -> inventarioLineaRepository.sumar(nuevo.getId(), productoId, cantidad));
+        return nuevo;
+    }
+
+    // Guarda los datos del inventario y, si llegan cantidades, reemplaza todas sus
+    // líneas por ellas. Sin cantidades las líneas no se tocan.
+    @Transactional
+    public Inventario actualizar(Inventario inventario, Map<Long, Integer> cantidades) {
+        Inventario guardado = inventarioRepository.save(inventario);
+        if (cantidades != null) {
+            inventarioLineaRepository.eliminarTodas(guardado.getId());
+            cantidades.forEach((productoId, cantidad) -> inventarioLineaRepository.sumar(guardado.getId(), productoId, cantidad));
+        }
+        return guardado;
+    }
+
+    // Sin cantidad quita el producto del inventario. Con cantidad la resta y borra la
+    // línea si llega a cero. Devuelve false si no había línea o no alcanzaba la cantidad.
+    @Transactional
+    public boolean remover(Long inventarioId, Long productoId, Integer cantidad) {
+        int filas = cantidad == null
+                ? inventarioLineaRepository.eliminar(inventarioId, productoId)
+                : inventarioLineaRepository.restar(inventarioId, productoId, cantidad);
+        if (filas == 0) {
+            return false;
+        }
+        if (cantidad != null) {
+            inventarioLineaRepository.eliminarSiVacia(inventarioId, productoId);
+        }
+        inventarioRepository.marcarActualizado(inventarioId, LocalDateTime.now());
+        return true;
+    }
+}
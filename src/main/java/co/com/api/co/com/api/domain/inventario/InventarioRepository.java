@@ -1,11 +1,41 @@
 package co.com.api.co.com.api.domain.inventario;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import co.com.api.co.com.api.domain.empleados.Empleado;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface InventarioRepository extends JpaRepository<Inventario, Long> {
+    @EntityGraph("Inventario.detalle")
     List<Inventario> findByResponsable(Empleado responsable);
+
+    // Inventario con su responsable en una consulta; las líneas se piden aparte y paginadas
+    @EntityGraph("Inventario.detalle")
+    Optional<Inventario> findDetalleById(Long id);
+
+    @Modifying
+    @Query("update Inventario i set i.ultimaActualizacion = :fecha where i.id = :id")
+    int marcarActualizado(@Param("id") Long id, @Param("fecha") LocalDateTime fecha);
+
+    // Paginación por cursor: seek sobre la clave primaria. El responsable va en el mismo
+    // SELECT en lugar de una consulta por inventario.
+    @EntityGraph("Inventario.detalle")
+    List<Inventario> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Listado liviano con los totales de las líneas calculados en la misma consulta
+    @Query("select new co.com.api.co.com.api.domain.inventario.InventarioResumen(" +
+           "i.id, i.descripcion, i.ultimaActualizacion, e.id, e.nombre, " +
+           "(select count(l) from InventarioLinea l where l.inventario = i), " +
+           "(select coalesce(sum(l.cantidad), 0L) from InventarioLinea l where l.inventario = i)) " +
+           "from Inventario i join i.responsable e " +
+           "where i.id > :id order by i.id asc")
+    List<InventarioResumen> findResumenes(@Param("id") Long despuesDeId, Limit limit);
 }
@@ -0,0 +1,15 @@
+package co.com.api.co.com.api.domain.inventario;
+
+import java.time.LocalDateTime;
+
+// Inventario para listados: responsable por nombre y totales de sus líneas en lugar de
+// las entidades. Se arma con una proyección JPQL en una consulta.
+public record InventarioResumen(
+    Long id,
+    String descripcion,
+    LocalDateTime ultimaActualizacion,
+    Long responsableId,
+    String responsableNombre,
+    Long productos,
+    Long unidades
+) {}
@@ -0,0 +1,13 @@
+package co.com.api.co.com.api.domain.productos;
+
+// Un producto cruzó el umbral de stock bajo: BAJO al quedar por debajo,
+// RECUPERADO al volver a alcanzarlo
+public record AlertaStockBajo(
+    Tipo tipo,
+    ProductoEstado producto,
+    int umbral
+) {
+    public enum Tipo {
+        BAJO, RECUPERADO
+    }
+}
@@ -0,0 +1,106 @@
+package co.com.api.co.com.api.domain.productos;
+
+import co.com.api.co.com.api.dto.FacetaCategoria;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Conteo de productos, stock total y valor del stock por categoría, mantenidos en
+// memoria. Se calculan una vez al arrancar y luego cada ProductoModificadoEvent
+// resta el aporte anterior del producto y suma el nuevo: ninguna consulta hace
+// GROUP BY sobre productos. Los eventos pueden llegar fuera de orden entre
+// transacciones; se aplica solo el de versión más reciente de cada producto.
+@Component
+public class FacetasCategoria {
+
+    private static final Logger logger = LoggerFactory.getLogger(FacetasCategoria.class);
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    // Último estado aplicado de cada producto, para conocer su aporte al cambiar
+    private final Map<Long, ProductoEstado> aplicados = new ConcurrentHashMap<>();
+
+    // Ids eliminados: un guardado atrasado no debe volver a sumar el producto
+    private final Set<Long> eliminados = ConcurrentHashMap.newKeySet();
+
+    // Las facetas publicadas son inmutables; un cambio reemplaza la de su categoría
+    private final Map<String, FacetaCategoria> facetas = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void cargar() {
+        productoRepository.findAll().forEach(producto -> aplicar(ProductoEstado.de(producto)));
+        logger.info("Facetas de categoría cargadas: {} categorías, {} productos", facetas.size(), aplicados.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarProducto(ProductoModificadoEvent evento) {
+        if (evento.esEliminacion()) {
+            quitar(evento.productoId());
+        } else {
+            aplicar(evento.estado());
+        }
+    }
+
+    public synchronized void aplicar(ProductoEstado producto) {
+        ProductoEstado anterior = aplicados.get(producto.id());
+        if (eliminados.contains(producto.id()) || !producto.posteriorA(anterior)) {
+            return;
+        }
+        aplicados.put(producto.id(), producto);
+        if (anterior != null) {
+            sumar(anterior, -1);
+        }
+        sumar(producto, 1);
+    }
+
+    public synchronized void quitar(Long productoId) {
+        eliminados.add(productoId);
+        ProductoEstado anterior = aplicados.remove(productoId);
+        if (anterior != null) {
+            sumar(anterior, -1);
+        }
+    }
+
+    public List<FacetaCategoria> listar() {
+        return facetas.values().stream()
+                .sorted(Comparator.comparing(FacetaCategoria::categoria))
+                .toList();
+    }
+
+    public FacetaCategoria obtener(String categoria) {
+        return facetas.get(categoria);
+    }
+
+    private void sumar(ProductoEstado producto, int signo) {
+        String categoria = producto.categoria() != null ? producto.categoria() : "";
+        long stock = producto.stock() != null ? producto.stock() : 0;
+        BigDecimal valor = producto.precio() != null
+                ? producto.precio().multiply(BigDecimal.valueOf(stock))
+                : BigDecimal.ZERO;
+
+        facetas.compute(categoria, (clave, actual) -> {
+            long productos = (actual != null ? actual.productos() : 0) + signo;
+            if (productos <= 0) {
+                return null;
+            }
+            long stockTotal = (actual != null ? actual.stockTotal() : 0) + signo * stock;
+            BigDecimal valorStock = (actual != null ? actual.valorStock() : BigDecimal.ZERO)
+                    .add(signo > 0 ? valor : valor.negate());
+            return new FacetaCategoria(clave, productos, stockTotal, valorStock);
+        });
+    }
+}
@@ -0,0 +1,122 @@
+package co.com.api.co.com.api.domain.productos;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// Índice en memoria de productos ordenados por stock. Responde "stock menor a N"
+// sin consultar la tabla y publica AlertaStockBajo cuando un producto cruza el
+// umbral configurado, ya sea por un cambio de stock, una edición o una venta.
+// Los eventos pueden llegar fuera de orden entre transacciones; se indexa solo el
+// de versión más reciente de cada producto.
+@Component
+public class MonitorStockBajo {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonitorStockBajo.class);
+
+    private static final Comparator<ProductoEstado> POR_STOCK =
+            Comparator.comparing((ProductoEstado p) -> stockDe(p)).thenComparing(ProductoEstado::id);
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${api.productos.stock-bajo.umbral:10}")
+    private int umbral;
+
+    private final ConcurrentSkipListSet<ProductoEstado> porStock = new ConcurrentSkipListSet<>(POR_STOCK);
+
+    // Último estado indexado de cada producto, para poder quitarlo del conjunto ordenado
+    private final Map<Long, ProductoEstado> aplicados = new ConcurrentHashMap<>();
+
+    // Ids eliminados: un guardado atrasado no debe volver a indexar el producto
+    private final Set<Long> eliminados = ConcurrentHashMap.newKeySet();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void cargar() {
+        productoRepository.findAll().forEach(producto -> indexar(ProductoEstado.de(producto)));
+        logger.info("Monitor de stock bajo cargado: {} productos, {} bajo el umbral de {}",
+                aplicados.size(), debajoDe(umbral).size(), umbral);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarProducto(ProductoModificadoEvent evento) {
+        if (evento.esEliminacion()) {
+            quitar(evento.productoId());
+            return;
+        }
+
+        AlertaStockBajo.Tipo cruce = indexar(evento.estado());
+        if (cruce != null) {
+            eventPublisher.publishEvent(new AlertaStockBajo(cruce, evento.estado(), umbral));
+        }
+    }
+
+    // Productos con stock menor al indicado, del menor al mayor stock
+    public List<ProductoEstado> debajoDe(int stock) {
+        ProductoEstado limite = new ProductoEstado(Long.MIN_VALUE, null, null, stock, null, null, null);
+        return List.copyOf(porStock.headSet(limite));
+    }
+
+    public List<ProductoEstado> debajoDelUmbral() {
+        return debajoDe(umbral);
+    }
+
+    public int getUmbral() {
+        return umbral;
+    }
+
+    // Devuelve el cruce de umbral que produjo el nuevo estado, o null si no cruzó.
+    // Un estado atrasado o de un producto eliminado se descarta sin cruce.
+    private synchronized AlertaStockBajo.Tipo indexar(ProductoEstado producto) {
+        ProductoEstado anterior = aplicados.get(producto.id());
+        if (eliminados.contains(producto.id()) || !producto.posteriorA(anterior)) {
+            return null;
+        }
+        aplicados.put(producto.id(), producto);
+        if (anterior != null) {
+            porStock.remove(anterior);
+        }
+        porStock.add(producto);
+
+        // Producto nuevo: solo avisa si ya nace por debajo del umbral
+        boolean estabaBajo = anterior != null && stockDe(anterior) < umbral;
+        boolean estaBajo = stockDe(producto) < umbral;
+        if (!estabaBajo && estaBajo) {
+            return AlertaStockBajo.Tipo.BAJO;
+        }
+        if (estabaBajo && !estaBajo) {
+            return AlertaStockBajo.Tipo.RECUPERADO;
+        }
+        return null;
+    }
+
+    private synchronized void quitar(Long productoId) {
+        eliminados.add(productoId);
+        ProductoEstado anterior = aplicados.remove(productoId);
+        if (anterior != null) {
+            porStock.remove(anterior);
+        }
+    }
+
+    private static int stockDe(ProductoEstado producto) {
+        return producto.stock() != null ? producto.stock() : 0;
+    }
+}
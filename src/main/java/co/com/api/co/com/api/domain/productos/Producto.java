@@ -4,6 +4,9 @@ import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+// Sin caché de segundo nivel: el stock cambia con UPDATE por JDBC en cada venta, fuera
+// de los bloqueos de la caché, y una lectura concurrente podría volver a cachear la
+// fila y la versión anteriores.
 @Entity
 @Table(name = "productos")
 public class Producto {
@@ -28,6 +31,22 @@ public class Producto {
     
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal precio;
+
+    // Lo asigna VencimientoProductos al guardar y al vencer cada plazo
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado_vencimiento", nullable = false)
+    private EstadoVencimiento estadoVencimiento = EstadoVencimiento.VIGENTE;
+
+    // Sube con cada escritura, también con los UPDATE directos de stock. Los índices
+    // en memoria la usan para descartar eventos que llegan fuera de orden.
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    // Enum para estado de vencimiento
+    public enum EstadoVencimiento {
+        VIGENTE, POR_VENCER, VENCIDO
+    }
     
     // Constructores
     public Producto() {}
@@ -98,4 +117,20 @@ public class Producto {
     public void setPrecio(BigDecimal precio) {
         this.precio = precio;
     }
+
+    public EstadoVencimiento getEstadoVencimiento() {
+        return estadoVencimiento;
+    }
+
+    public void setEstadoVencimiento(EstadoVencimiento estadoVencimiento) {
+        this.estadoVencimiento = estadoVencimiento;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,33 @@
+package co.com.api.co.com.api.domain.productos;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Copia inmutable de un producto en el momento de un cambio. Los índices en memoria
+// la guardan en lugar de la entidad para no retener entidades administradas.
+public record ProductoEstado(
+    Long id,
+    String nombre,
+    String categoria,
+    Integer stock,
+    BigDecimal precio,
+    LocalDate fechaVencimiento,
+    Long version
+) {
+    public static ProductoEstado de(Producto producto) {
+        return new ProductoEstado(
+                producto.getId(),
+                producto.getNombre(),
+                producto.getCategoria(),
+                producto.getStock(),
+                producto.getPrecio(),
+                producto.getFechaVencimiento(),
+                producto.getVersion());
+    }
+
+    // true si este estado es más reciente que otro del mismo producto. Sin versión
+    // (estado armado a mano) se considera más reciente.
+    public boolean posteriorA(ProductoEstado otro) {
+        return otro == null || version == null || otro.version() == null || version > otro.version();
+    }
+}
@@ -0,0 +1,20 @@
+package co.com.api.co.com.api.domain.productos;
+
+// Se publica después de crear, modificar (incluido el stock) o eliminar un producto.
+// estado es el producto ya guardado, o null si se eliminó.
+public record ProductoModificadoEvent(
+    Long productoId,
+    ProductoEstado estado
+) {
+    public static ProductoModificadoEvent guardado(Producto producto) {
+        return new ProductoModificadoEvent(producto.getId(), ProductoEstado.de(producto));
+    }
+
+    public static ProductoModificadoEvent eliminado(Long productoId) {
+        return new ProductoModificadoEvent(productoId, null);
+    }
+
+    public boolean esEliminacion() {
+        return estado == null;
+    }
+}
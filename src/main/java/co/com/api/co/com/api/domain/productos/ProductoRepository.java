@@ -1,7 +1,13 @@
 package co.com.api.co.com.api.domain.productos;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,4 +17,32 @@ public interface ProductoRepository extends JpaRepository<Producto, Long> {
     List<Producto> findByStockLessThan(Integer stock);
     Optional<Producto> findByNombre(String nombre);
     List<Producto> findByNombreContainingIgnoreCase(String nombre);
+
+    // Escrituras de stock en una sola sentencia, sin leer y guardar la entidad
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Producto p set p.stock = :stock, p.version = p.version + 1 where p.id = :id")
+    int actualizarStock(@Param("id") Long id, @Param("stock") Integer stock);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Producto p set p.stock = p.stock + :cantidad, p.version = p.version + 1 " +
+           "where p.id = :id and p.stock + :cantidad >= 0")
+    int ajustarStock(@Param("id") Long id, @Param("cantidad") Integer cantidad);
+
+    // Estado actual leído de la base de datos. Al ser una proyección no devuelve
+    // entidades ya cargadas en el contexto, que pueden tener el stock anterior a un UPDATE directo.
+    @Query("select new co.com.api.co.com.api.domain.productos.ProductoEstado(" +
+           "p.id, p.nombre, p.categoria, p.stock, p.precio, p.fechaVencimiento, p.version) " +
+           "from Producto p where p.id in :ids")
+    List<ProductoEstado> findEstados(@Param("ids") Collection<Long> ids);
+
+    // Cambio de estado de vencimiento de un grupo de productos en una sola sentencia
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Producto p set p.estadoVencimiento = :estado, p.version = p.version + 1 where p.id in :ids")
+    int actualizarEstadoVencimiento(@Param("ids") Collection<Long> ids, @Param("estado") Producto.EstadoVencimiento estado);
+
+    // Paginación por cursor: seek sobre la clave primaria
+    List<Producto> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
@@ -0,0 +1,230 @@
+package co.com.api.co.com.api.domain.productos;
+
+import co.com.api.co.com.api.domain.productos.Producto.EstadoVencimiento;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// Motor de vencimientos. Cada producto con fecha de vencimiento tiene un único
+// cambio de estado pendiente (VIGENTE -> POR_VENCER -> VENCIDO) en una cola
+// ordenada por fecha. El job de medianoche solo saca de la cola los cambios que
+// ya vencieron y los guarda agrupados por estado; no recorre la tabla productos.
+//
+// Mismo criterio que vista_productos_stock_bajo: POR_VENCER cuando faltan menos
+// de dias-aviso días, VENCIDO desde el día siguiente a fechaVencimiento.
+@Component
+public class VencimientoProductos {
+
+    private static final Logger logger = LoggerFactory.getLogger(VencimientoProductos.class);
+
+    private static final int LOTE_ACTUALIZACION = 1_000;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Value("${api.productos.vencimiento.dias-aviso:30}")
+    private int diasAviso;
+
+    @Value("${api.productos.vencimiento.zona:America/Bogota}")
+    private ZoneId zona;
+
+    private record Entrada(LocalDate fecha, Long id) {}
+
+    private static final Comparator<Entrada> POR_FECHA =
+            Comparator.comparing(Entrada::fecha).thenComparing(Entrada::id);
+
+    // Próximo cambio de estado de cada producto, ordenado por fecha en que ocurre
+    private final ConcurrentSkipListSet<Entrada> pendientes = new ConcurrentSkipListSet<>(POR_FECHA);
+    private final Map<Long, Entrada> pendientePorProducto = new ConcurrentHashMap<>();
+
+    // Productos ordenados por fecha de vencimiento, para el listado de próximos a vencer
+    private final ConcurrentSkipListSet<Entrada> porVencimiento = new ConcurrentSkipListSet<>(POR_FECHA);
+    private final Map<Long, LocalDate> vencimientoPorProducto = new ConcurrentHashMap<>();
+
+    // Arma las colas y corrige los estados que cambiaron mientras la aplicación estaba detenida
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        LocalDate hoy = hoy();
+        Map<EstadoVencimiento, List<Long>> correcciones = new EnumMap<>(EstadoVencimiento.class);
+        for (Producto producto : productoRepository.findAll()) {
+            indexar(producto.getId(), producto.getFechaVencimiento(), hoy);
+            EstadoVencimiento estado = estadoPara(producto.getFechaVencimiento(), hoy);
+            if (estado != producto.getEstadoVencimiento()) {
+                correcciones.computeIfAbsent(estado, e -> new ArrayList<>()).add(producto.getId());
+            }
+        }
+        guardar(correcciones);
+        logger.info("Vencimientos cargados: {} productos con fecha, {} cambios pendientes, {} estados corregidos",
+                vencimientoPorProducto.size(), pendientes.size(),
+                correcciones.values().stream().mapToInt(List::size).sum());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarProducto(ProductoModificadoEvent evento) {
+        if (evento.esEliminacion()) {
+            quitar(evento.productoId());
+        } else {
+            indexar(evento.productoId(), evento.estado().fechaVencimiento(), hoy());
+        }
+    }
+
+    // A medianoche: aplica solo los cambios de estado que vencen hoy o antes
+    @Scheduled(cron = "${api.productos.vencimiento.cron:0 0 0 * * *}", zone = "${api.productos.vencimiento.zona:America/Bogota}")
+    public void procesarVencimientos() {
+        LocalDate hoy = hoy();
+        Map<EstadoVencimiento, List<Long>> cambios = new EnumMap<>(EstadoVencimiento.class);
+        synchronized (this) {
+            while (!pendientes.isEmpty() && !pendientes.first().fecha().isAfter(hoy)) {
+                Entrada vencida = pendientes.pollFirst();
+                pendientePorProducto.remove(vencida.id(), vencida);
+                LocalDate fechaVencimiento = vencimientoPorProducto.get(vencida.id());
+                cambios.computeIfAbsent(estadoPara(fechaVencimiento, hoy), e -> new ArrayList<>()).add(vencida.id());
+                programar(vencida.id(), fechaVencimiento, hoy);
+            }
+        }
+        guardar(cambios);
+        if (!cambios.isEmpty()) {
+            logger.info("Vencimientos procesados: {}", cambios.entrySet().stream()
+                    .map(e -> e.getKey() + "=" + e.getValue().size())
+                    .toList());
+        }
+    }
+
+    // Estado que corresponde hoy a un producto con esa fecha de vencimiento
+    public EstadoVencimiento estadoPara(LocalDate fechaVencimiento) {
+        return estadoPara(fechaVencimiento, hoy());
+    }
+
+    // Ids de productos que vencen entre hoy y hoy + dias, por fecha de vencimiento.
+    // despuesDe es el id del último producto de la página anterior (cursor).
+    public List<Long> porVencer(int dias, Long despuesDe, int cantidad) {
+        LocalDate hoy = hoy();
+        Entrada desde = new Entrada(hoy, Long.MIN_VALUE);
+        boolean incluirDesde = true;
+        if (despuesDe != null) {
+            LocalDate fecha = vencimientoPorProducto.get(despuesDe);
+            if (fecha != null && !fecha.isBefore(hoy)) {
+                desde = new Entrada(fecha, despuesDe);
+                incluirDesde = false;
+            }
+        }
+        Entrada hasta = new Entrada(hoy.plusDays(dias), Long.MAX_VALUE);
+        if (POR_FECHA.compare(desde, hasta) > 0) {
+            return List.of();
+        }
+
+        NavigableSet<Entrada> rango = porVencimiento.subSet(desde, incluirDesde, hasta, true);
+        List<Long> ids = new ArrayList<>(cantidad);
+        for (Entrada entrada : rango) {
+            ids.add(entrada.id());
+            if (ids.size() == cantidad) {
+                break;
+            }
+        }
+        return ids;
+    }
+
+    private synchronized void indexar(Long productoId, LocalDate fechaVencimiento, LocalDate hoy) {
+        LocalDate anterior = fechaVencimiento != null
+                ? vencimientoPorProducto.put(productoId, fechaVencimiento)
+                : vencimientoPorProducto.remove(productoId);
+        if (anterior != null && anterior.equals(fechaVencimiento)) {
+            return;
+        }
+        if (anterior != null) {
+            porVencimiento.remove(new Entrada(anterior, productoId));
+        }
+        if (fechaVencimiento != null) {
+            porVencimiento.add(new Entrada(fechaVencimiento, productoId));
+        }
+        programar(productoId, fechaVencimiento, hoy);
+    }
+
+    private synchronized void quitar(Long productoId) {
+        LocalDate anterior = vencimientoPorProducto.remove(productoId);
+        if (anterior != null) {
+            porVencimiento.remove(new Entrada(anterior, productoId));
+        }
+        Entrada pendiente = pendientePorProducto.remove(productoId);
+        if (pendiente != null) {
+            pendientes.remove(pendiente);
+        }
+    }
+
+    // Reemplaza el cambio pendiente del producto por el siguiente posterior a hoy
+    private void programar(Long productoId, LocalDate fechaVencimiento, LocalDate hoy) {
+        Entrada anterior = pendientePorProducto.remove(productoId);
+        if (anterior != null) {
+            pendientes.remove(anterior);
+        }
+        if (fechaVencimiento == null) {
+            return;
+        }
+
+        LocalDate siguiente = null;
+        if (inicioPorVencer(fechaVencimiento).isAfter(hoy)) {
+            siguiente = inicioPorVencer(fechaVencimiento);
+        } else if (inicioVencido(fechaVencimiento).isAfter(hoy)) {
+            siguiente = inicioVencido(fechaVencimiento);
+        }
+        if (siguiente != null) {
+            Entrada entrada = new Entrada(siguiente, productoId);
+            pendientes.add(entrada);
+            pendientePorProducto.put(productoId, entrada);
+        }
+    }
+
+    private EstadoVencimiento estadoPara(LocalDate fechaVencimiento, LocalDate hoy) {
+        if (fechaVencimiento == null) {
+            return EstadoVencimiento.VIGENTE;
+        }
+        if (!hoy.isBefore(inicioVencido(fechaVencimiento))) {
+            return EstadoVencimiento.VENCIDO;
+        }
+        if (!hoy.isBefore(inicioPorVencer(fechaVencimiento))) {
+            return EstadoVencimiento.POR_VENCER;
+        }
+        return EstadoVencimiento.VIGENTE;
+    }
+
+    // Primer día en que fechaVencimiento < hoy + diasAviso
+    private LocalDate inicioPorVencer(LocalDate fechaVencimiento) {
+        return fechaVencimiento.minusDays(diasAviso - 1L);
+    }
+
+    // Primer día en que fechaVencimiento < hoy
+    private LocalDate inicioVencido(LocalDate fechaVencimiento) {
+        return fechaVencimiento.plusDays(1);
+    }
+
+    private void guardar(Map<EstadoVencimiento, List<Long>> cambios) {
+        cambios.forEach((estado, ids) -> {
+            for (int i = 0; i < ids.size(); i += LOTE_ACTUALIZACION) {
+                productoRepository.actualizarEstadoVencimiento(
+                        ids.subList(i, Math.min(ids.size(), i + LOTE_ACTUALIZACION)), estado);
+            }
+        });
+    }
+
+    // Visible en el paquete para que las pruebas fijen el día
+    LocalDate hoy() {
+        return LocalDate.now(zona);
+    }
+}
@@ -1,11 +1,16 @@
 package co.com.api.co.com.api.domain.proveedores;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProveedorRepository extends JpaRepository<Proveedor, Long> {
     Optional<Proveedor> findByNit(String nit);
     Optional<Proveedor> findByCorreo(String correo);
+
+    // Paginación por cursor: seek sobre la clave primaria
+    List<Proveedor> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
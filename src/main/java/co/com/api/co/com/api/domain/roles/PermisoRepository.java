@@ -1,10 +1,29 @@
 package co.com.api.co.com.api.domain.roles;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PermisoRepository extends JpaRepository<Permiso, Long> {
+    // Resultados en la caché de consultas; Hibernate los invalida al escribir en la tabla
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Permiso> findByNombre(String nombre);
+
+    // Usan idx_permisos_recurso_accion e idx_permisos_accion (V8)
+    List<Permiso> findByRecurso(String recurso);
+
+    List<Permiso> findByAccion(Permiso.Accion accion);
+
+    // Hay al menos un permiso: lee una fila en lugar de la tabla
+    boolean existsByIdNotNull();
+
+    // Paginación por cursor: seek sobre la clave primaria
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Permiso> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
@@ -0,0 +1,32 @@
+package co.com.api.co.com.api.domain.roles;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.BitSet;
+import java.util.List;
+
+// Permisos efectivos de un usuario: la unión de los bitsets de sus roles.
+// Inmutable; se calcula una vez por sesión y las verificaciones son un bit test
+// sin reservar memoria.
+public final class PermisosEfectivos {
+
+    public static final PermisosEfectivos VACIO = new PermisosEfectivos(new BitSet(), List.of());
+
+    private final BitSet bits;
+    private final List<GrantedAuthority> authorities;
+
+    PermisosEfectivos(BitSet bits, List<GrantedAuthority> authorities) {
+        this.bits = bits;
+        this.authorities = authorities;
+    }
+
+    // indice es el que asigna RegistroPermisos; -1 (permiso desconocido) nunca está
+    public boolean tiene(int indice) {
+        return indice >= 0 && bits.get(indice);
+    }
+
+    // Instancias de SimpleGrantedAuthority compartidas, ya calculadas
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+}
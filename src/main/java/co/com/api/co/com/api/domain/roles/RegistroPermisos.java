@@ -0,0 +1,141 @@
+package co.com.api.co.com.api.domain.roles;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Registro compacto de permisos. Cada Permiso recibe un índice de bit estable
+// (por id, no se reutiliza aunque el permiso se elimine) y una única instancia de
+// SimpleGrantedAuthority. Cada rol se guarda como un BitSet que se recalcula
+// cuando cambian sus permisos.
+@Component
+public class RegistroPermisos {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistroPermisos.class);
+
+    @Autowired
+    private RolRepository rolRepository;
+
+    @Autowired
+    private PermisoRepository permisoRepository;
+
+    private final AtomicInteger siguienteIndice = new AtomicInteger();
+
+    // id de permiso -> índice de bit
+    private final Map<Long, Integer> indicePorPermiso = new ConcurrentHashMap<>();
+
+    // nombre de permiso (authority) -> índice de bit
+    private final Map<String, Integer> indicePorNombre = new ConcurrentHashMap<>();
+
+    // índice de bit -> authority compartida
+    private final Map<Integer, SimpleGrantedAuthority> authorityPorIndice = new ConcurrentHashMap<>();
+
+    // id de rol -> permisos del rol. Los BitSet publicados no se modifican: un cambio
+    // reemplaza el bitset completo, así que se pueden leer sin sincronizar.
+    private final Map<Long, BitSet> permisosPorRol = new ConcurrentHashMap<>();
+
+    // Asigna los índices en orden de id para que sean los mismos en cada arranque
+    // y precalcula los bitsets de todos los roles
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void cargar() {
+        permisoRepository.findAll().stream()
+                .sorted(Comparator.comparing(Permiso::getId))
+                .forEach(this::registrarPermiso);
+        rolRepository.findAll().forEach(this::recalcularRol);
+        logger.info("Registro de permisos cargado: {} permisos, {} roles",
+                indicePorPermiso.size(), permisosPorRol.size());
+    }
+
+    // Registra el permiso o actualiza su nombre si cambió. Devuelve su índice.
+    public int registrarPermiso(Permiso permiso) {
+        int indice = indicePorPermiso.computeIfAbsent(permiso.getId(), id -> siguienteIndice.getAndIncrement());
+        SimpleGrantedAuthority anterior = authorityPorIndice.get(indice);
+        if (anterior == null || !anterior.getAuthority().equals(permiso.getNombre())) {
+            if (anterior != null) {
+                indicePorNombre.remove(anterior.getAuthority(), indice);
+            }
+            authorityPorIndice.put(indice, new SimpleGrantedAuthority(permiso.getNombre()));
+            indicePorNombre.put(permiso.getNombre(), indice);
+        }
+        return indice;
+    }
+
+    // Deja de resolver el permiso por nombre; su índice queda reservado
+    public void eliminarPermiso(Long permisoId) {
+        Integer indice = indicePorPermiso.get(permisoId);
+        if (indice == null) {
+            return;
+        }
+        SimpleGrantedAuthority authority = authorityPorIndice.remove(indice);
+        if (authority != null) {
+            indicePorNombre.remove(authority.getAuthority(), indice);
+        }
+        permisosPorRol.replaceAll((rolId, bits) -> {
+            BitSet copia = (BitSet) bits.clone();
+            copia.clear(indice);
+            return copia;
+        });
+    }
+
+    // Reconstruye el bitset del rol con sus permisos actuales
+    public void recalcularRol(Rol rol) {
+        permisosPorRol.put(rol.getId(), bitsDe(rol));
+    }
+
+    public void eliminarRol(Long rolId) {
+        permisosPorRol.remove(rolId);
+    }
+
+    // Índice del permiso con ese nombre, o -1 si no existe
+    public int indice(String nombrePermiso) {
+        Integer indice = indicePorNombre.get(nombrePermiso);
+        return indice != null ? indice : -1;
+    }
+
+    // Unión de los permisos de los roles
+    public PermisosEfectivos calcular(Collection<Rol> roles) {
+        if (roles == null || roles.isEmpty()) {
+            return PermisosEfectivos.VACIO;
+        }
+
+        BitSet bits = new BitSet();
+        for (Rol rol : roles) {
+            bits.or(permisosPorRol.computeIfAbsent(rol.getId(), id -> bitsDe(rol)));
+        }
+
+        List<GrantedAuthority> authorities = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            SimpleGrantedAuthority authority = authorityPorIndice.get(i);
+            if (authority != null) {
+                authorities.add(authority);
+            }
+        }
+        return new PermisosEfectivos(bits, List.copyOf(authorities));
+    }
+
+    private BitSet bitsDe(Rol rol) {
+        BitSet bits = new BitSet();
+        if (rol.getPermisos() != null) {
+            for (Permiso permiso : rol.getPermisos()) {
+                bits.set(registrarPermiso(permiso));
+            }
+        }
+        return bits;
+    }
+}
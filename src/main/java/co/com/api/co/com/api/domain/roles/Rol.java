@@ -1,11 +1,15 @@
 package co.com.api.co.com.api.domain.roles;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
 @Table(name = "roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "roles")
 public class Rol {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -22,6 +26,7 @@ public class Rol {
     private List<co.com.api.co.com.api.domain.usuarios.Usuario> usuarios;
     
     @ManyToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "roles-permisos")
     @JoinTable(
         name = "rol_permisos",
         joinColumns = @JoinColumn(name = "rol_id"),
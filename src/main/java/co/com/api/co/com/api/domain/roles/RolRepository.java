@@ -1,10 +1,24 @@
 package co.com.api.co.com.api.domain.roles;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RolRepository extends JpaRepository<Rol, Long> {
+    // Resultados en la caché de consultas; Hibernate los invalida al escribir en la tabla
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Rol> findByNombre(String nombre);
+
+    // Hay al menos un rol: lee una fila en lugar de la tabla
+    boolean existsByIdNotNull();
+
+    // Paginación por cursor: seek sobre la clave primaria
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Rol> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
@@ -1,5 +1,6 @@
 package co.com.api.co.com.api.domain.usuarios;
 
+import co.com.api.co.com.api.domain.roles.PermisosEfectivos;
 import co.com.api.co.com.api.domain.roles.Rol;
 import jakarta.persistence.*;
 import org.springframework.security.core.GrantedAuthority;
@@ -45,6 +46,12 @@ public class Usuario implements UserDetails {
     @Column(nullable = false)
     private Boolean activo = true;
 
+    // Permisos precalculados por RegistroPermisos para el usuario autenticado.
+    // Solo se asigna en el principal que guarda SecurityFilter.
+    @Transient
+    @JsonIgnore
+    private PermisosEfectivos permisosEfectivos;
+
     // Constructores
     public Usuario() {}
     
@@ -121,9 +128,22 @@ public class Usuario implements UserDetails {
         this.activo = activo;
     }
 
+    public PermisosEfectivos getPermisosEfectivos() {
+        return permisosEfectivos;
+    }
+
+    public void setPermisosEfectivos(PermisosEfectivos permisosEfectivos) {
+        this.permisosEfectivos = permisosEfectivos;
+    }
+
     // Implementación de UserDetails
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
+        // En el principal autenticado las authorities ya están calculadas y compartidas
+        if (permisosEfectivos != null) {
+            return permisosEfectivos.getAuthorities();
+        }
+
         if (roles == null || roles.isEmpty()) {
             return List.of();
         }
@@ -1,14 +1,31 @@
 package co.com.api.co.com.api.domain.usuarios;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UsuarioReposotiry extends JpaRepository<Usuario,Long> {
+    // Los roles vienen en el mismo SELECT en lugar de una consulta aparte por usuario
+    @EntityGraph(attributePaths = "roles")
     Optional<Usuario> findByUser(String username);
 
     Optional<Usuario> findByEmail(String email);
+
+    // Validaciones de unicidad: SELECT ... LIMIT 1 sobre el índice, sin cargar el usuario
+    boolean existsByUser(String username);
+
+    boolean existsByEmail(String email);
+
+    // Usa idx_usuarios_activo
+    @EntityGraph(attributePaths = "roles")
+    List<Usuario> findByActivoTrue();
+
+    // Paginación por cursor: seek sobre la clave primaria
+    List<Usuario> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
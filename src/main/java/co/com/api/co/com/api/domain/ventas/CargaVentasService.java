@@ -0,0 +1,314 @@
+package co.com.api.co.com.api.domain.ventas;
+
+import co.com.api.co.com.api.domain.clientes.Cliente;
+import co.com.api.co.com.api.domain.clientes.ClienteRepository;
+import co.com.api.co.com.api.domain.empleados.Empleado;
+import co.com.api.co.com.api.domain.empleados.EmpleadoRepository;
+import co.com.api.co.com.api.domain.productos.Producto;
+import co.com.api.co.com.api.domain.productos.ProductoRepository;
+import co.com.api.co.com.api.dto.CargaVentasResponse;
+import co.com.api.co.com.api.dto.CreateVentaRequest;
+import co.com.api.co.com.api.dto.ErrorCargaVenta;
+import co.com.api.co.com.api.dto.LineaProductoRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Carga masiva de ventas (cierre de día de los POS). Clientes, vendedores y productos
+// se resuelven con una consulta por tipo, el stock se descuenta en un solo batch y
+// ventas, venta_productos y detalle_venta se insertan en batches JDBC.
+// Las filas inválidas se reportan y no impiden guardar las demás, tampoco las que se
+// quedan sin stock porque otra venta lo consumió durante la carga.
+@Service
+public class CargaVentasService {
+
+    // Igual a hibernate.jdbc.batch_size: cada flush envía batches completos
+    private static final int TAMANO_LOTE = 50;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    // Fila ya validada, lista para persistir
+    private record VentaValida(int fila, CreateVentaRequest solicitud, Venta.EstadoVenta estado,
+                               Map<Long, Integer> cantidades) {}
+
+    @Transactional
+    public CargaVentasResponse cargar(List<CreateVentaRequest> solicitudes) {
+        // Ids referenciados por todo el lote
+        Set<Long> clienteIds = new HashSet<>();
+        Set<Long> vendedorIds = new HashSet<>();
+        Set<Long> productoIds = new HashSet<>();
+        for (CreateVentaRequest solicitud : solicitudes) {
+            if (solicitud == null) {
+                continue;
+            }
+            if (solicitud.clienteId() != null) {
+                clienteIds.add(solicitud.clienteId());
+            }
+            if (solicitud.vendedorId() != null) {
+                vendedorIds.add(solicitud.vendedorId());
+            }
+            if (solicitud.productoIds() != null) {
+                solicitud.productoIds().stream().filter(id -> id != null).forEach(productoIds::add);
+            }
+            if (solicitud.detalles() != null) {
+                solicitud.detalles().stream()
+                        .filter(detalle -> detalle != null && detalle.productoId() != null)
+                        .forEach(detalle -> productoIds.add(detalle.productoId()));
+            }
+        }
+
+        // Una consulta IN por tipo en lugar de un findById por venta
+        Set<Long> clientesExistentes = clienteRepository.findAllById(clienteIds).stream()
+                .map(Cliente::getId)
+                .collect(Collectors.toSet());
+        Set<Long> vendedoresExistentes = empleadoRepository.findAllById(vendedorIds).stream()
+                .map(Empleado::getId)
+                .collect(Collectors.toSet());
+        Map<Long, BigDecimal> precios = new HashMap<>();
+        Map<Long, Integer> stockDisponible = new HashMap<>();
+        for (Producto producto : productoRepository.findAllById(productoIds)) {
+            precios.put(producto.getId(), producto.getPrecio());
+            stockDisponible.put(producto.getId(), producto.getStock());
+        }
+
+        List<ErrorCargaVenta> errores = new ArrayList<>();
+        List<VentaValida> validas = new ArrayList<>();
+        Map<Long, Integer> totales = new HashMap<>();
+
+        for (int fila = 0; fila < solicitudes.size(); fila++) {
+            CreateVentaRequest solicitud = solicitudes.get(fila);
+            String motivo = validar(solicitud, clientesExistentes, vendedoresExistentes);
+            if (motivo != null) {
+                errores.add(new ErrorCargaVenta(fila, motivo));
+                continue;
+            }
+
+            Venta.EstadoVenta estado = Venta.EstadoVenta.PENDIENTE;
+            if (solicitud.estado() != null) {
+                try {
+                    estado = Venta.EstadoVenta.valueOf(solicitud.estado().toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    errores.add(new ErrorCargaVenta(fila, "Estado de venta inválido: " + solicitud.estado()));
+                    continue;
+                }
+            }
+
+            Map<Long, Integer> cantidades = cantidadesPorProducto(solicitud);
+            if (cantidades == null) {
+                errores.add(new ErrorCargaVenta(fila, "Detalle de venta inválido"));
+                continue;
+            }
+
+            // Reserva el stock en orden de fila; una fila sin stock no descuenta nada
+            motivo = reservarStock(cantidades, stockDisponible);
+            if (motivo != null) {
+                errores.add(new ErrorCargaVenta(fila, motivo));
+                continue;
+            }
+
+            cantidades.forEach((productoId, cantidad) -> totales.merge(productoId, cantidad, Integer::sum));
+            validas.add(new VentaValida(fila, solicitud, estado, cantidades));
+        }
+
+        if (validas.isEmpty()) {
+            return new CargaVentasResponse(solicitudes.size(), 0, List.of(), errores);
+        }
+
+        // Un solo batch de UPDATE condicionales con el total por producto. Si otra venta
+        // consumió stock entre la lectura y este punto, solo se rehacen las filas de los
+        // productos que no alcanzaron.
+        if (!totales.isEmpty()) {
+            List<Long> rechazados = stockLedgerService.descontarDisponible(totales);
+            if (!rechazados.isEmpty()) {
+                validas = repartirStockVigente(validas, rechazados, errores);
+                errores.sort(Comparator.comparingInt(ErrorCargaVenta::fila));
+            }
+        }
+
+        List<Long> ventaIds = new ArrayList<>(validas.size());
+        int pendientes = 0;
+        for (VentaValida valida : validas) {
+            ventaIds.add(persistir(valida, precios));
+            // Vacía el contexto cada lote para no acumular miles de entidades administradas
+            if (++pendientes == TAMANO_LOTE) {
+                entityManager.flush();
+                entityManager.clear();
+                pendientes = 0;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        return new CargaVentasResponse(solicitudes.size(), ventaIds.size(), ventaIds, errores);
+    }
+
+    private String validar(CreateVentaRequest solicitud, Set<Long> clientesExistentes, Set<Long> vendedoresExistentes) {
+        if (solicitud == null) {
+            return "Venta vacía";
+        }
+        if (solicitud.clienteId() == null) {
+            return "ID de cliente es obligatorio";
+        }
+        if (solicitud.vendedorId() == null) {
+            return "ID de vendedor es obligatorio";
+        }
+        if (solicitud.valorVenta() == null || solicitud.valorVenta().compareTo(BigDecimal.ZERO) <= 0) {
+            return "Valor de venta inválido: " + solicitud.valorVenta();
+        }
+        if (!clientesExistentes.contains(solicitud.clienteId())) {
+            return "Cliente no encontrado con ID: " + solicitud.clienteId();
+        }
+        if (!vendedoresExistentes.contains(solicitud.vendedorId())) {
+            return "Vendedor no encontrado con ID: " + solicitud.vendedorId();
+        }
+        return null;
+    }
+
+    // Mismas reglas que POST /api/ventas: cada ID en productoIds cuenta como una unidad
+    // y los detalles suman su cantidad. Devuelve null si alguna línea es inválida.
+    private Map<Long, Integer> cantidadesPorProducto(CreateVentaRequest solicitud) {
+        Map<Long, Integer> cantidades = new LinkedHashMap<>();
+        if (solicitud.productoIds() != null) {
+            for (Long productoId : solicitud.productoIds()) {
+                if (productoId == null) {
+                    return null;
+                }
+                cantidades.merge(productoId, 1, Integer::sum);
+            }
+        }
+        if (solicitud.detalles() != null) {
+            for (LineaProductoRequest detalle : solicitud.detalles()) {
+                if (detalle == null || detalle.productoId() == null
+                        || detalle.cantidad() == null || detalle.cantidad() <= 0) {
+                    return null;
+                }
+                cantidades.merge(detalle.productoId(), detalle.cantidad(), Integer::sum);
+            }
+        }
+        return cantidades;
+    }
+
+    private String reservarStock(Map<Long, Integer> cantidades, Map<Long, Integer> stockDisponible) {
+        List<Long> inexistentes = new ArrayList<>();
+        List<Long> sinStock = new ArrayList<>();
+        for (Map.Entry<Long, Integer> linea : cantidades.entrySet()) {
+            Integer disponible = stockDisponible.get(linea.getKey());
+            if (disponible == null) {
+                inexistentes.add(linea.getKey());
+            } else if (disponible < linea.getValue()) {
+                sinStock.add(linea.getKey());
+            }
+        }
+        if (!inexistentes.isEmpty()) {
+            return "Productos no encontrados: " + inexistentes;
+        }
+        if (!sinStock.isEmpty()) {
+            return "Stock insuficiente para productos: " + sinStock;
+        }
+        cantidades.forEach((productoId, cantidad) -> stockDisponible.merge(productoId, -cantidad, Integer::sum));
+        return null;
+    }
+
+    // Bloquea los productos rechazados, lee su stock vigente y lo vuelve a repartir en
+    // orden de fila. Las filas que ya no alcanzan pasan a errores y devuelven lo que
+    // descontaron de los demás productos; las que alcanzan descuentan ahora los
+    // productos rechazados. Con las filas bloqueadas ese segundo descuento no falla.
+    private List<VentaValida> repartirStockVigente(List<VentaValida> validas, List<Long> rechazados,
+                                                   List<ErrorCargaVenta> errores) {
+        Set<Long> afectados = new HashSet<>(rechazados);
+        Map<Long, Integer> stockVigente = stockLedgerService.bloquearStock(afectados);
+
+        List<VentaValida> restantes = new ArrayList<>(validas.size());
+        Map<Long, Integer> aDescontar = new HashMap<>();
+        Map<Long, Integer> aReintegrar = new HashMap<>();
+        for (VentaValida valida : validas) {
+            Map<Long, Integer> deAfectados = new LinkedHashMap<>();
+            valida.cantidades().forEach((productoId, cantidad) -> {
+                if (afectados.contains(productoId)) {
+                    deAfectados.put(productoId, cantidad);
+                }
+            });
+            if (deAfectados.isEmpty()) {
+                restantes.add(valida);
+                continue;
+            }
+
+            String motivo = reservarStock(deAfectados, stockVigente);
+            if (motivo != null) {
+                errores.add(new ErrorCargaVenta(valida.fila(), motivo));
+                valida.cantidades().forEach((productoId, cantidad) -> {
+                    if (!afectados.contains(productoId)) {
+                        aReintegrar.merge(productoId, cantidad, Integer::sum);
+                    }
+                });
+                continue;
+            }
+            deAfectados.forEach((productoId, cantidad) -> aDescontar.merge(productoId, cantidad, Integer::sum));
+            restantes.add(valida);
+        }
+
+        if (!aReintegrar.isEmpty()) {
+            stockLedgerService.reintegrarStock(aReintegrar);
+        }
+        if (!aDescontar.isEmpty()) {
+            stockLedgerService.descontarStock(aDescontar);
+        }
+        return restantes;
+    }
+
+    private Long persistir(VentaValida valida, Map<Long, BigDecimal> precios) {
+        CreateVentaRequest solicitud = valida.solicitud();
+
+        // Referencias por id: no generan SELECT y sobreviven al clear() entre lotes
+        Map<Long, Producto> productos = new LinkedHashMap<>();
+        for (Long productoId : valida.cantidades().keySet()) {
+            productos.put(productoId, entityManager.getReference(Producto.class, productoId));
+        }
+
+        Venta venta = new Venta(
+                solicitud.fecha() != null ? solicitud.fecha() : LocalDate.now(),
+                new LinkedHashSet<>(productos.values()),
+                solicitud.valorVenta(),
+                entityManager.getReference(Cliente.class, solicitud.clienteId()),
+                entityManager.getReference(Empleado.class, solicitud.vendedorId()),
+                solicitud.descripcion(),
+                valida.estado());
+        entityManager.persist(venta);
+
+        for (Map.Entry<Long, Integer> linea : valida.cantidades().entrySet()) {
+            BigDecimal precio = precios.get(linea.getKey());
+            BigDecimal subtotal = precio.multiply(BigDecimal.valueOf(linea.getValue()));
+            entityManager.persist(new DetalleVenta(venta, productos.get(linea.getKey()), linea.getValue(), precio, subtotal));
+        }
+
+        return venta.getId();
+    }
+}
@@ -1,18 +1,23 @@
 package co.com.api.co.com.api.domain.ventas;
 
 import co.com.api.co.com.api.domain.productos.Producto;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 
 @Entity
 @Table(name = "detalle_venta")
 public class DetalleVenta {
+    // Ids por tabla con bloques de 50 para que Hibernate pueda agrupar los INSERT en batch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "detalle_venta_id_gen")
+    @TableGenerator(name = "detalle_venta_id_gen", table = "id_generadores", pkColumnName = "entidad",
+                    valueColumnName = "siguiente", pkColumnValue = "detalle_venta", allocationSize = 50)
     private Long id;
     
     @ManyToOne
     @JoinColumn(name = "venta_id", nullable = false)
+    @JsonIgnore
     private Venta venta;
     
     @ManyToOne
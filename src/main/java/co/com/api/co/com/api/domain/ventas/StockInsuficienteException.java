@@ -0,0 +1,18 @@
+package co.com.api.co.com.api.domain.ventas;
+
+import java.util.List;
+
+// Se lanza cuando un descuento condicional de stock no encuentra unidades suficientes
+public class StockInsuficienteException extends RuntimeException {
+
+    private final List<Long> productoIds;
+
+    public StockInsuficienteException(List<Long> productoIds) {
+        super("Stock insuficiente para los productos: " + productoIds);
+        this.productoIds = productoIds;
+    }
+
+    public List<Long> getProductoIds() {
+        return productoIds;
+    }
+}
@@ -0,0 +1,176 @@
+package co.com.api.co.com.api.domain.ventas;
+
+import co.com.api.co.com.api.domain.productos.Producto;
+import co.com.api.co.com.api.domain.productos.ProductoEstado;
+import co.com.api.co.com.api.domain.productos.ProductoModificadoEvent;
+import co.com.api.co.com.api.domain.productos.ProductoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Registra las líneas de una venta y descuenta el stock de sus productos con un
+// UPDATE condicional por producto, enviados en un único batch JDBC. Dos ventas
+// concurrentes nunca pisan el stock de la otra y no se bloquean filas con FOR UPDATE.
+@Service
+public class StockLedgerService {
+
+    private static final String DESCONTAR_STOCK_SQL =
+            "UPDATE productos SET stock = stock - ?, version = version + 1 WHERE id = ? AND stock >= ?";
+
+    private static final String REINTEGRAR_STOCK_SQL =
+            "UPDATE productos SET stock = stock + ?, version = version + 1 WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private VentaRepository ventaRepository;
+
+    @Autowired
+    private DetalleVentaRepository detalleVentaRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Guarda la venta, descuenta el stock y crea un DetalleVenta por producto.
+    // Si algún producto no tiene stock suficiente se revierte toda la venta.
+    @Transactional
+    public Venta registrarVenta(Venta venta, Map<Long, Integer> cantidades) {
+        List<Producto> productos = List.of();
+        if (!cantidades.isEmpty()) {
+            descontarStock(cantidades);
+            // Se leen después del UPDATE para devolver el stock ya descontado
+            productos = productoRepository.findAllById(cantidades.keySet());
+        }
+
+        venta.setProductos(new LinkedHashSet<>(productos));
+        Venta ventaGuardada = ventaRepository.save(venta);
+
+        List<DetalleVenta> detalles = new ArrayList<>(productos.size());
+        for (Producto producto : productos) {
+            Integer cantidad = cantidades.get(producto.getId());
+            BigDecimal subtotal = producto.getPrecio().multiply(BigDecimal.valueOf(cantidad));
+            detalles.add(new DetalleVenta(ventaGuardada, producto, cantidad, producto.getPrecio(), subtotal));
+        }
+        detalleVentaRepository.saveAll(detalles);
+        // La venta se devuelve con sus líneas sin volver a leerlas
+        ventaGuardada.getDetalles().addAll(detalles);
+
+        return ventaGuardada;
+    }
+
+    // Descuenta las cantidades indicadas en un único batch de UPDATE condicionales.
+    // Lanza StockInsuficienteException si algún producto no alcanza; la transacción
+    // del llamador se revierte completa. Los índices en memoria reciben el stock
+    // nuevo con ProductoModificadoEvent cuando la transacción confirma; la versión se
+    // lee después del UPDATE, con la fila todavía bloqueada por esta transacción.
+    @Transactional
+    public void descontarStock(Map<Long, Integer> cantidades) {
+        List<Long> rechazados = descontarDisponible(cantidades);
+        if (rechazados.isEmpty()) {
+            return;
+        }
+
+        // Un UPDATE sin filas puede ser falta de stock o un producto inexistente
+        Set<Long> existentes = productoRepository.findAllById(rechazados).stream()
+                .map(Producto::getId)
+                .collect(Collectors.toSet());
+        List<Long> inexistentes = rechazados.stream()
+                .filter(id -> !existentes.contains(id))
+                .toList();
+        if (!inexistentes.isEmpty()) {
+            throw new IllegalArgumentException("Productos no encontrados: " + inexistentes);
+        }
+        throw new StockInsuficienteException(rechazados);
+    }
+
+    // Igual que descontarStock pero sin lanzar excepción: devuelve los productos que no
+    // alcanzaron (o no existen) y deja descontados los demás. Lo usa la carga masiva
+    // para rehacer solo las filas afectadas sin perder la transacción.
+    @Transactional
+    public List<Long> descontarDisponible(Map<Long, Integer> cantidades) {
+        List<Long> productoIds = new ArrayList<>(cantidades.keySet());
+        // Orden fijo de ids para que las ventas concurrentes bloqueen filas en el mismo orden
+        Collections.sort(productoIds);
+
+        int[] filasActualizadas = jdbcTemplate.batchUpdate(DESCONTAR_STOCK_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Long productoId = productoIds.get(i);
+                int cantidad = cantidades.get(productoId);
+                ps.setInt(1, cantidad);
+                ps.setLong(2, productoId);
+                ps.setInt(3, cantidad);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return productoIds.size();
+            }
+        });
+
+        List<Long> descontados = new ArrayList<>(productoIds.size());
+        List<Long> rechazados = new ArrayList<>();
+        for (int i = 0; i < filasActualizadas.length; i++) {
+            (filasActualizadas[i] == 0 ? rechazados : descontados).add(productoIds.get(i));
+        }
+        publicarEstados(descontados);
+        return rechazados;
+    }
+
+    // Devuelve unidades descontadas en esta misma transacción (filas de una carga que
+    // se descartan después del descuento)
+    @Transactional
+    public void reintegrarStock(Map<Long, Integer> cantidades) {
+        List<Long> productoIds = new ArrayList<>(cantidades.keySet());
+        Collections.sort(productoIds);
+        jdbcTemplate.batchUpdate(REINTEGRAR_STOCK_SQL, productoIds, productoIds.size(), (ps, productoId) -> {
+            ps.setInt(1, cantidades.get(productoId));
+            ps.setLong(2, productoId);
+        });
+        publicarEstados(productoIds);
+    }
+
+    // Stock vigente de los productos con SELECT ... FOR UPDATE: no depende de lo que la
+    // transacción leyó antes y nadie más lo cambia hasta el commit. Los productos que
+    // ya no existen no aparecen en el resultado.
+    @Transactional
+    public Map<Long, Integer> bloquearStock(Collection<Long> productoIds) {
+        List<Long> ids = productoIds.stream().sorted().toList();
+        String marcadores = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        Map<Long, Integer> stock = new HashMap<>();
+        jdbcTemplate.query("SELECT id, stock FROM productos WHERE id IN (" + marcadores + ") ORDER BY id FOR UPDATE",
+                fila -> {
+                    stock.put(fila.getLong("id"), fila.getInt("stock"));
+                }, ids.toArray());
+        return stock;
+    }
+
+    private void publicarEstados(List<Long> productoIds) {
+        if (productoIds.isEmpty()) {
+            return;
+        }
+        for (ProductoEstado estado : productoRepository.findEstados(productoIds)) {
+            eventPublisher.publishEvent(new ProductoModificadoEvent(estado.id(), estado));
+        }
+    }
+}
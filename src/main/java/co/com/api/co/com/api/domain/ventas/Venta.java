@@ -3,16 +3,35 @@ package co.com.api.co.com.api.domain.ventas;
 import co.com.api.co.com.api.domain.productos.Producto;
 import co.com.api.co.com.api.domain.clientes.Cliente;
 import co.com.api.co.com.api.domain.empleados.Empleado;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
+// Plan de carga para devolver una venta completa sin open-in-view: cliente, vendedor,
+// productos y líneas con su producto en una sola consulta. productos y detalles son Set:
+// el join de las dos colecciones repite cada producto por cada línea, y con un bag
+// (List) esas repeticiones llegaban a la entidad y se volvían a escribir en venta_productos.
 @Entity
 @Table(name = "ventas")
+@NamedEntityGraph(
+    name = "Venta.detalle",
+    attributeNodes = {
+        @NamedAttributeNode("cliente"),
+        @NamedAttributeNode("vendedor"),
+        @NamedAttributeNode("productos"),
+        @NamedAttributeNode(value = "detalles", subgraph = "detalles")
+    },
+    subgraphs = @NamedSubgraph(name = "detalles", attributeNodes = @NamedAttributeNode("producto"))
+)
 public class Venta {
+    // Ids por tabla con bloques de 50 para que Hibernate pueda agrupar los INSERT en batch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "venta_id_gen")
+    @TableGenerator(name = "venta_id_gen", table = "id_generadores", pkColumnName = "entidad",
+                    valueColumnName = "siguiente", pkColumnValue = "ventas", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -24,7 +43,8 @@ public class Venta {
         joinColumns = @JoinColumn(name = "venta_id"),
         inverseJoinColumns = @JoinColumn(name = "producto_id")
     )
-    private List<Producto> productos;
+    @OrderBy("id")
+    private Set<Producto> productos = new LinkedHashSet<>();
     
     @Column(name = "valor_venta", nullable = false, precision = 10, scale = 2)
     private BigDecimal valorVenta;
@@ -44,6 +64,12 @@ public class Venta {
     @Column(nullable = false)
     private EstadoVenta estado;
     
+    // Solo lectura: las líneas se crean con StockLedgerService y CargaVentasService
+    @OneToMany(mappedBy = "venta")
+    @OrderBy("id")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Set<DetalleVenta> detalles = new LinkedHashSet<>();
+    
     // Enum para estado de venta
     public enum EstadoVenta {
         PENDIENTE, COMPLETADA, CANCELADA
@@ -52,7 +78,7 @@ public class Venta {
     // Constructores
     public Venta() {}
     
-    public Venta(LocalDate fecha, List<Producto> productos, BigDecimal valorVenta, 
+    public Venta(LocalDate fecha, Set<Producto> productos, BigDecimal valorVenta, 
                 Cliente cliente, Empleado vendedor, String descripcion, EstadoVenta estado) {
         this.fecha = fecha;
         this.productos = productos;
@@ -80,11 +106,11 @@ public class Venta {
         this.fecha = fecha;
     }
     
-    public List<Producto> getProductos() {
+    public Set<Producto> getProductos() {
         return productos;
     }
     
-    public void setProductos(List<Producto> productos) {
+    public void setProductos(Set<Producto> productos) {
         this.productos = productos;
     }
     
@@ -127,4 +153,8 @@ public class Venta {
     public void setEstado(EstadoVenta estado) {
         this.estado = estado;
     }
+    
+    public Set<DetalleVenta> getDetalles() {
+        return detalles;
+    }
 }
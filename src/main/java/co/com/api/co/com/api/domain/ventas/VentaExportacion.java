@@ -0,0 +1,19 @@
+package co.com.api.co.com.api.domain.ventas;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Fila plana de una venta para exportación. Se arma con una proyección JPQL para no
+// cargar entidades ni asociaciones mientras se recorre el cursor.
+public record VentaExportacion(
+    Long id,
+    LocalDate fecha,
+    BigDecimal valorVenta,
+    Venta.EstadoVenta estado,
+    String descripcion,
+    Long clienteId,
+    String clienteNombre,
+    String clienteCedula,
+    Long vendedorId,
+    String vendedorNombre
+) {}
@@ -1,16 +1,85 @@
 package co.com.api.co.com.api.domain.ventas;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import co.com.api.co.com.api.domain.clientes.Cliente;
 import co.com.api.co.com.api.domain.empleados.Empleado;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface VentaRepository extends JpaRepository<Venta, Long> {
+    // Las consultas que devuelven entidades usan el grafo Venta.detalle: la venta sale
+    // completa en una consulta y se serializa sin open-in-view
+    @EntityGraph("Venta.detalle")
     List<Venta> findByCliente(Cliente cliente);
+
+    @EntityGraph("Venta.detalle")
     List<Venta> findByVendedor(Empleado vendedor);
+
     List<Venta> findByFechaBetween(LocalDate fechaInicio, LocalDate fechaFin);
+
+    @EntityGraph("Venta.detalle")
     List<Venta> findByEstado(Venta.EstadoVenta estado);
+
+    @EntityGraph("Venta.detalle")
+    Optional<Venta> findDetalleById(Long id);
+
+    // Segunda consulta de cada página: las ventas de los ids ya paginados con su grafo.
+    // Un fetch de colecciones con LIMIT obligaría a Hibernate a paginar en memoria.
+    @EntityGraph("Venta.detalle")
+    List<Venta> findByIdIn(Collection<Long> ids, Sort sort);
+
+    // Paginación por cursor: seek sobre la clave primaria
+    @Query("select v.id from Venta v where v.id > :id order by v.id asc")
+    List<Long> findIdsSiguientes(@Param("id") Long despuesDeId, Limit limit);
+
+    // Paginación por cursor dentro de un rango de fechas: seek sobre (fecha, id),
+    // que recorre idx_ventas_fecha en orden sin ordenar en memoria
+    @Query("select v.id from Venta v where v.fecha between :fechaInicio and :fechaFin " +
+           "order by v.fecha asc, v.id asc")
+    List<Long> findIdsPorFecha(@Param("fechaInicio") LocalDate fechaInicio,
+                               @Param("fechaFin") LocalDate fechaFin, Limit limit);
+
+    @Query("select v.id from Venta v where v.fecha <= :fechaFin " +
+           "and (v.fecha > :fecha or (v.fecha = :fecha and v.id > :id)) " +
+           "order by v.fecha asc, v.id asc")
+    List<Long> findIdsSiguientesPorFecha(@Param("fecha") LocalDate fecha, @Param("id") Long id,
+                                         @Param("fechaFin") LocalDate fechaFin, Limit limit);
+
+    // Listado liviano: cliente y vendedor por nombre y el conteo de productos, sin
+    // materializar entidades ni disparar selects por venta
+    @Query("select new co.com.api.co.com.api.domain.ventas.VentaResumen(" +
+           "v.id, v.fecha, v.valorVenta, v.estado, c.id, c.nombre, e.id, e.nombre, size(v.productos)) " +
+           "from Venta v join v.cliente c join v.vendedor e " +
+           "where v.id > :id order by v.id asc")
+    List<VentaResumen> findResumenes(@Param("id") Long despuesDeId, Limit limit);
+
+    @Query("select v.fecha from Venta v where v.id = :id")
+    Optional<LocalDate> findFechaById(@Param("id") Long id);
+
+    // Cursor de solo avance para exportar: con fetch size Integer.MIN_VALUE el driver de
+    // MySQL entrega las filas una a una en lugar de cargar todo el resultado en memoria
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new co.com.api.co.com.api.domain.ventas.VentaExportacion(" +
+           "v.id, v.fecha, v.valorVenta, v.estado, v.descripcion, " +
+           "c.id, c.nombre, c.cedula, e.id, e.nombre) " +
+           "from Venta v join v.cliente c join v.vendedor e " +
+           "where v.fecha between :fechaInicio and :fechaFin order by v.fecha asc, v.id asc")
+    Stream<VentaExportacion> streamExportacion(@Param("fechaInicio") LocalDate fechaInicio,
+                                               @Param("fechaFin") LocalDate fechaFin);
 }
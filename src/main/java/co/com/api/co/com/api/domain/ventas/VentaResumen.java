@@ -0,0 +1,18 @@
+package co.com.api.co.com.api.domain.ventas;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Venta para listados: solo las columnas que muestra la tabla, con el conteo de
+// productos en lugar de la lista. Se arma con una proyección JPQL en una consulta.
+public record VentaResumen(
+    Long id,
+    LocalDate fecha,
+    BigDecimal valorVenta,
+    Venta.EstadoVenta estado,
+    Long clienteId,
+    String clienteNombre,
+    Long vendedorId,
+    String vendedorNombre,
+    Integer productos
+) {}
@@ -0,0 +1,10 @@
+package co.com.api.co.com.api.dto;
+
+import java.util.List;
+
+public record CargaVentasResponse(
+    int recibidas,
+    int creadas,
+    List<Long> ventaIds,
+    List<ErrorCargaVenta> errores
+) {}
@@ -5,5 +5,6 @@ import java.util.List;
 public record CreateInventarioRequest(
     Long responsableId,
     String descripcion,
-    List<Long> productoIds
+    List<Long> productoIds,
+    List<LineaProductoRequest> lineas
 ) {}
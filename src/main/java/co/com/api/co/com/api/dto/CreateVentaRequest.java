@@ -11,10 +11,11 @@ public record CreateVentaRequest(
     LocalDate fecha,
     BigDecimal valorVenta,
     List<Long> productoIds,
-    String estado
+    String estado,
+    List<LineaProductoRequest> detalles
 ) {
     // Constructor vacío para Jackson
     public CreateVentaRequest() {
-        this(null, null, null, null, null, null, null);
+        this(null, null, null, null, null, null, null, null);
     }
 }
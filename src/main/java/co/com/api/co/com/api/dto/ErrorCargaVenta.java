@@ -0,0 +1,6 @@
+package co.com.api.co.com.api.dto;
+
+public record ErrorCargaVenta(
+    int fila,
+    String motivo
+) {}
@@ -0,0 +1,11 @@
+package co.com.api.co.com.api.dto;
+
+import java.math.BigDecimal;
+
+// Totales de una categoría de productos: cantidad, unidades en stock y valor del stock (stock * precio)
+public record FacetaCategoria(
+    String categoria,
+    long productos,
+    long stockTotal,
+    BigDecimal valorStock
+) {}
@@ -0,0 +1,6 @@
+package co.com.api.co.com.api.dto;
+
+public record LineaProductoRequest(
+    Long productoId,
+    Integer cantidad
+) {}
@@ -0,0 +1,34 @@
+package co.com.api.co.com.api.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+// Página de resultados paginados por cursor (keyset). siguienteCursor es el id a
+// enviar en ?after= para pedir la siguiente página, o null si no hay más filas.
+// En resultados ordenados por relevancia (búsqueda) es la posición en el ranking.
+public record Pagina<T>(
+    List<T> contenido,
+    Long siguienteCursor
+) {
+    public static final int LIMITE_POR_DEFECTO = 50;
+    public static final int LIMITE_MAXIMO = 500;
+
+    // Límite pedido por el cliente acotado a [1, LIMITE_MAXIMO]
+    public static int limite(Integer solicitado) {
+        if (solicitado == null) {
+            return LIMITE_POR_DEFECTO;
+        }
+        return Math.max(1, Math.min(solicitado, LIMITE_MAXIMO));
+    }
+
+    // Arma la página a partir de una consulta de limite + 1 filas: la fila extra
+    // solo indica que hay una página siguiente y no se devuelve
+    public static <T> Pagina<T> de(List<T> filas, int limite, Function<T, Long> id) {
+        if (filas.size() <= limite) {
+            return new Pagina<>(filas, null);
+        }
+        List<T> contenido = new ArrayList<>(filas.subList(0, limite));
+        return new Pagina<>(contenido, id.apply(contenido.get(limite - 1)));
+    }
+}
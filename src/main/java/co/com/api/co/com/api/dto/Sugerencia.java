@@ -0,0 +1,9 @@
+package co.com.api.co.com.api.dto;
+
+// Sugerencia de autocompletado: texto a mostrar y un dato para distinguir
+// coincidencias (categoría del producto o cédula del cliente)
+public record Sugerencia(
+    Long id,
+    String texto,
+    String detalle
+) {}
@@ -0,0 +1,19 @@
+package co.com.api.co.com.api.dto;
+
+import java.util.List;
+
+// Mismo JSON que aceptaba el PUT con la entidad: responsable y productos por {"id"}.
+// productos y lineas, si llegan, reemplazan todas las líneas del inventario.
+public record UpdateInventarioRequest(
+    Referencia responsable,
+    String descripcion,
+    List<Referencia> productos,
+    List<LineaProductoRequest> lineas
+) {
+    public record Referencia(Long id) {}
+
+    // Constructor vacío para Jackson
+    public UpdateInventarioRequest() {
+        this(null, null, null, null);
+    }
+}
@@ -0,0 +1,124 @@
+package co.com.api.co.com.api.infra.busqueda;
+
+import co.com.api.co.com.api.domain.clientes.ClienteIdentificacion;
+import co.com.api.co.com.api.domain.clientes.ClienteModificadoEvent;
+import co.com.api.co.com.api.domain.clientes.ClienteRepository;
+import co.com.api.co.com.api.domain.productos.ProductoEstado;
+import co.com.api.co.com.api.domain.productos.ProductoModificadoEvent;
+import co.com.api.co.com.api.domain.productos.ProductoRepository;
+import co.com.api.co.com.api.dto.Sugerencia;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Autocompletado en memoria para la caja: productos por nombre y clientes por nombre
+// o cédula. Se carga al arrancar y se actualiza con los eventos de ProductoController
+// y ClienteController, sin consultas a la base de datos por tecla.
+@Service
+public class AutocompletadoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutocompletadoService.class);
+
+    public static final int LIMITE_POR_DEFECTO = 10;
+    public static final int LIMITE_MAXIMO = 20;
+
+    private static final int BLOQUE_CARGA = 5_000;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    private final IndicePrefijos productos = new IndicePrefijos();
+    private final IndicePrefijos clientes = new IndicePrefijos();
+
+    // Último estado puesto por producto, para descartar eventos atrasados por versión
+    private final Map<Long, ProductoEstado> productosAplicados = new ConcurrentHashMap<>();
+
+    // Ids eliminados: un guardado atrasado no debe volver a sugerir el producto
+    private final Set<Long> productosEliminados = ConcurrentHashMap.newKeySet();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        productoRepository.findAll().forEach(producto -> ponerProducto(ProductoEstado.de(producto)));
+        // Por bloques de id para no tener todos los clientes en memoria a la vez
+        List<ClienteIdentificacion> bloque = clienteRepository.findIdentificaciones(0L, Limit.of(BLOQUE_CARGA));
+        while (!bloque.isEmpty()) {
+            bloque.forEach(this::ponerCliente);
+            Long ultimo = bloque.get(bloque.size() - 1).id();
+            bloque = clienteRepository.findIdentificaciones(ultimo, Limit.of(BLOQUE_CARGA));
+        }
+        logger.info("Autocompletado cargado: {} productos, {} clientes", productos.tamano(), clientes.tamano());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarProducto(ProductoModificadoEvent evento) {
+        if (evento.esEliminacion()) {
+            quitarProducto(evento.productoId());
+        } else {
+            ponerProducto(evento.estado());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarCliente(ClienteModificadoEvent evento) {
+        if (evento.esEliminacion()) {
+            clientes.quitar(evento.clienteId());
+        } else {
+            ponerCliente(evento.cliente());
+        }
+    }
+
+    public List<Sugerencia> sugerirProductos(String prefijo, Integer limite) {
+        return productos.sugerir(prefijo, limite(limite));
+    }
+
+    public List<Sugerencia> sugerirClientes(String prefijo, Integer limite) {
+        return clientes.sugerir(prefijo, limite(limite));
+    }
+
+    private synchronized void ponerProducto(ProductoEstado producto) {
+        ProductoEstado anterior = productosAplicados.get(producto.id());
+        if (productosEliminados.contains(producto.id()) || !producto.posteriorA(anterior)) {
+            return;
+        }
+        productosAplicados.put(producto.id(), producto);
+        productos.poner(producto.id(),
+                new Sugerencia(producto.id(), producto.nombre(), producto.categoria()),
+                List.of(nulo(producto.nombre())));
+    }
+
+    private synchronized void quitarProducto(Long productoId) {
+        productosEliminados.add(productoId);
+        productosAplicados.remove(productoId);
+        productos.quitar(productoId);
+    }
+
+    private void ponerCliente(ClienteIdentificacion cliente) {
+        clientes.poner(cliente.id(),
+                new Sugerencia(cliente.id(), cliente.nombre(), cliente.cedula()),
+                List.of(nulo(cliente.nombre()), nulo(cliente.cedula())));
+    }
+
+    private static String nulo(String texto) {
+        return texto != null ? texto : "";
+    }
+
+    private static int limite(Integer solicitado) {
+        if (solicitado == null) {
+            return LIMITE_POR_DEFECTO;
+        }
+        return Math.max(1, Math.min(solicitado, LIMITE_MAXIMO));
+    }
+}
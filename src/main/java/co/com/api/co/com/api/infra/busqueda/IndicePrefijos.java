@@ -0,0 +1,81 @@
+package co.com.api.co.com.api.infra.busqueda;
+
+import co.com.api.co.com.api.dto.Sugerencia;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Índice ordenado de claves de texto para autocompletar por prefijo. Cada texto se
+// indexa desde el inicio de cada palabra ("laptop dell" -> "laptop dell", "dell"),
+// así se sugiere aunque se escriba una palabra del medio. Una consulta es un
+// subMap del prefijo: O(log n) más las sugerencias devueltas.
+class IndicePrefijos {
+
+    // Separa el texto del id en la clave; es menor que cualquier carácter, así
+    // "arroz" queda antes que "arroz blanco"
+    private static final char SEPARADOR = '\u0000';
+
+    private final ConcurrentSkipListMap<String, Sugerencia> entradas = new ConcurrentSkipListMap<>();
+
+    private final Map<Long, Registro> registros = new ConcurrentHashMap<>();
+
+    private record Registro(Sugerencia sugerencia, List<String> claves) {}
+
+    // Reemplaza las claves del id. Las escrituras se serializan; las lecturas no bloquean.
+    synchronized void poner(Long id, Sugerencia sugerencia, List<String> textos) {
+        List<String> claves = new ArrayList<>();
+        for (String texto : textos) {
+            List<String> terminos = Texto.tokenizar(texto);
+            for (int i = 0; i < terminos.size(); i++) {
+                claves.add(String.join(" ", terminos.subList(i, terminos.size())) + SEPARADOR + id);
+            }
+        }
+
+        Registro anterior = registros.get(id);
+        if (anterior != null && anterior.sugerencia().equals(sugerencia) && anterior.claves().equals(claves)) {
+            return;
+        }
+        if (anterior != null) {
+            anterior.claves().forEach(entradas::remove);
+        }
+        claves.forEach(clave -> entradas.put(clave, sugerencia));
+        registros.put(id, new Registro(sugerencia, claves));
+    }
+
+    synchronized void quitar(Long id) {
+        Registro anterior = registros.remove(id);
+        if (anterior != null) {
+            anterior.claves().forEach(entradas::remove);
+        }
+    }
+
+    // Hasta limite sugerencias distintas cuyo texto empieza con el prefijo, en orden alfabético
+    List<Sugerencia> sugerir(String prefijo, int limite) {
+        String clave = String.join(" ", Texto.tokenizar(prefijo));
+        if (clave.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> vistos = new LinkedHashSet<>();
+        List<Sugerencia> sugerencias = new ArrayList<>(limite);
+        for (Sugerencia sugerencia : entradas.subMap(clave, clave + Character.MAX_VALUE).values()) {
+            // Un mismo registro puede aparecer por dos de sus palabras
+            if (vistos.add(sugerencia.id())) {
+                sugerencias.add(sugerencia);
+                if (sugerencias.size() == limite) {
+                    break;
+                }
+            }
+        }
+        return sugerencias;
+    }
+
+    int tamano() {
+        return registros.size();
+    }
+}
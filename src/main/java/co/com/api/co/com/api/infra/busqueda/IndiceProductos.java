@@ -0,0 +1,216 @@
+package co.com.api.co.com.api.infra.busqueda;
+
+import co.com.api.co.com.api.domain.productos.ProductoEstado;
+import co.com.api.co.com.api.domain.productos.ProductoModificadoEvent;
+import co.com.api.co.com.api.domain.productos.ProductoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Índice invertido en memoria sobre nombre y categoría de los productos. Reemplaza
+// el LIKE '%x%' de la búsqueda, que no puede usar idx_productos_nombre y recorre
+// toda la tabla. Se construye al arrancar y se actualiza con ProductoModificadoEvent.
+//
+// Ranking: cada término de la consulta debe aparecer en el producto (AND). Cada
+// coincidencia suma idf * peso del campo; el último término también coincide por
+// prefijo ("arr" -> "arroz") con la mitad del peso, para buscar mientras se escribe.
+@Component
+public class IndiceProductos {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndiceProductos.class);
+
+    private static final int CAMPO_NOMBRE = 1;
+    private static final int CAMPO_CATEGORIA = 2;
+    private static final double PESO_NOMBRE = 2.0;
+    private static final double PESO_CATEGORIA = 1.0;
+    private static final double FACTOR_PREFIJO = 0.5;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    // término -> (id de producto -> campos donde aparece, como bits CAMPO_*)
+    private final ConcurrentSkipListMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+
+    // id de producto -> términos indexados, para poder quitarlos al modificar o eliminar
+    private final Map<Long, Documento> documentos = new ConcurrentHashMap<>();
+
+    // Ids eliminados: un guardado atrasado no debe volver a indexar el producto
+    private final Set<Long> eliminados = ConcurrentHashMap.newKeySet();
+
+    // estado: último ProductoEstado aplicado, para descartar eventos atrasados por versión
+    private record Documento(ProductoEstado estado, int largoNombre, Map<String, Integer> terminos) {}
+
+    private record Candidato(Long id, double puntaje, int largoNombre) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void cargar() {
+        productoRepository.findAll().forEach(producto -> indexar(ProductoEstado.de(producto)));
+        logger.info("Índice de productos cargado: {} productos, {} términos", documentos.size(), postings.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarProducto(ProductoModificadoEvent evento) {
+        if (evento.esEliminacion()) {
+            eliminar(evento.productoId());
+        } else {
+            indexar(evento.estado());
+        }
+    }
+
+    // Las escrituras se serializan; las búsquedas leen los mapas concurrentes sin bloquear.
+    // Los eventos pueden llegar fuera de orden: solo se aplica un estado más nuevo que el
+    // indexado.
+    public synchronized void indexar(ProductoEstado producto) {
+        Documento anterior = documentos.get(producto.id());
+        if (eliminados.contains(producto.id()) || !producto.posteriorA(anterior != null ? anterior.estado() : null)) {
+            return;
+        }
+
+        Map<String, Integer> terminos = new HashMap<>();
+        Texto.tokenizar(producto.nombre()).forEach(t -> terminos.merge(t, CAMPO_NOMBRE, (a, b) -> a | b));
+        Texto.tokenizar(producto.categoria()).forEach(t -> terminos.merge(t, CAMPO_CATEGORIA, (a, b) -> a | b));
+        int largoNombre = producto.nombre() != null ? producto.nombre().length() : 0;
+
+        // Con los mismos términos solo se registra la versión nueva
+        if (anterior != null && anterior.terminos().equals(terminos)) {
+            documentos.put(producto.id(), new Documento(producto, largoNombre, anterior.terminos()));
+            return;
+        }
+        if (anterior != null) {
+            quitarTerminos(producto.id(), anterior);
+        }
+        terminos.forEach((termino, campos) ->
+                postings.computeIfAbsent(termino, t -> new ConcurrentHashMap<>()).put(producto.id(), campos));
+        documentos.put(producto.id(), new Documento(producto, largoNombre, terminos));
+    }
+
+    public synchronized void eliminar(Long productoId) {
+        eliminados.add(productoId);
+        Documento anterior = documentos.remove(productoId);
+        if (anterior != null) {
+            quitarTerminos(productoId, anterior);
+        }
+    }
+
+    // Ids de los productos que coinciden, del más relevante al menos relevante,
+    // empezando en la posición desde
+    public List<Long> buscar(String consulta, int desde, int cantidad) {
+        List<String> terminos = Texto.tokenizar(consulta);
+        if (terminos.isEmpty()) {
+            return List.of();
+        }
+
+        int totalDocumentos = Math.max(documentos.size(), 1);
+        Map<Long, Double> puntajes = null;
+        for (int i = 0; i < terminos.size(); i++) {
+            boolean ultimo = i == terminos.size() - 1;
+            Map<Long, Double> delTermino = puntajesDelTermino(terminos.get(i), ultimo, totalDocumentos);
+            if (delTermino.isEmpty()) {
+                return List.of();
+            }
+            puntajes = puntajes == null ? delTermino : intersectar(puntajes, delTermino);
+            if (puntajes.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        List<Candidato> candidatos = new ArrayList<>(puntajes.size());
+        puntajes.forEach((id, puntaje) -> {
+            Documento documento = documentos.get(id);
+            if (documento != null) {
+                candidatos.add(new Candidato(id, puntaje, documento.largoNombre()));
+            }
+        });
+        // A igual puntaje, el nombre más corto es la coincidencia más precisa
+        candidatos.sort(Comparator.comparingDouble(Candidato::puntaje).reversed()
+                .thenComparingInt(Candidato::largoNombre)
+                .thenComparing(Candidato::id));
+
+        if (desde >= candidatos.size()) {
+            return List.of();
+        }
+        return candidatos.subList(desde, Math.min(candidatos.size(), desde + cantidad)).stream()
+                .map(Candidato::id)
+                .toList();
+    }
+
+    public int cantidadProductos() {
+        return documentos.size();
+    }
+
+    private Map<Long, Double> puntajesDelTermino(String termino, boolean incluirPrefijos, int totalDocumentos) {
+        Map<Long, Double> puntajes = new HashMap<>();
+        Map<Long, Integer> exactos = postings.get(termino);
+        if (exactos != null) {
+            double idf = idf(exactos.size(), totalDocumentos);
+            exactos.forEach((id, campos) -> puntajes.put(id, idf * peso(campos)));
+        }
+        if (incluirPrefijos) {
+            // Términos que empiezan con el texto, sin incluir el término exacto
+            ConcurrentNavigableMap<String, Map<Long, Integer>> conPrefijo =
+                    postings.subMap(termino, false, termino + Character.MAX_VALUE, false);
+            for (Map<Long, Integer> coincidencias : conPrefijo.values()) {
+                double idf = idf(coincidencias.size(), totalDocumentos);
+                coincidencias.forEach((id, campos) ->
+                        puntajes.merge(id, idf * peso(campos) * FACTOR_PREFIJO, Math::max));
+            }
+        }
+        return puntajes;
+    }
+
+    private Map<Long, Double> intersectar(Map<Long, Double> acumulado, Map<Long, Double> delTermino) {
+        Map<Long, Double> menor = acumulado.size() <= delTermino.size() ? acumulado : delTermino;
+        Map<Long, Double> mayor = menor == acumulado ? delTermino : acumulado;
+        Map<Long, Double> resultado = new HashMap<>();
+        menor.forEach((id, puntaje) -> {
+            Double otro = mayor.get(id);
+            if (otro != null) {
+                resultado.put(id, puntaje + otro);
+            }
+        });
+        return resultado;
+    }
+
+    private void quitarTerminos(Long productoId, Documento documento) {
+        for (String termino : documento.terminos().keySet()) {
+            Map<Long, Integer> ids = postings.get(termino);
+            if (ids != null) {
+                ids.remove(productoId);
+                if (ids.isEmpty()) {
+                    postings.remove(termino, ids);
+                }
+            }
+        }
+    }
+
+    private static double idf(int frecuencia, int totalDocumentos) {
+        return Math.log(1.0 + (double) totalDocumentos / frecuencia);
+    }
+
+    private static double peso(int campos) {
+        double peso = 0;
+        if ((campos & CAMPO_NOMBRE) != 0) {
+            peso += PESO_NOMBRE;
+        }
+        if ((campos & CAMPO_CATEGORIA) != 0) {
+            peso += PESO_CATEGORIA;
+        }
+        return peso;
+    }
+}
@@ -0,0 +1,38 @@
+package co.com.api.co.com.api.infra.busqueda;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Normalización común de los índices de búsqueda: minúsculas y sin tildes, así
+// "Café" y "cafe" caen en el mismo término
+public final class Texto {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private Texto() {}
+
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinTildes = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return sinTildes.toLowerCase(Locale.ROOT).trim();
+    }
+
+    // Términos distintos en orden de aparición
+    public static List<String> tokenizar(String texto) {
+        Set<String> terminos = new LinkedHashSet<>();
+        for (String termino : SEPARADORES.split(normalizar(texto))) {
+            if (!termino.isEmpty()) {
+                terminos.add(termino);
+            }
+        }
+        return new ArrayList<>(terminos);
+    }
+}
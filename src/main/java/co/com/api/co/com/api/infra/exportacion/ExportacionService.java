@@ -0,0 +1,139 @@
+package co.com.api.co.com.api.infra.exportacion;
+
+import co.com.api.co.com.api.domain.contabilidad.Contabilidad;
+import co.com.api.co.com.api.domain.contabilidad.ContabilidadRepository;
+import co.com.api.co.com.api.domain.ventas.VentaExportacion;
+import co.com.api.co.com.api.domain.ventas.VentaRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Exporta rangos de ventas y contabilidad escribiendo cada fila en la respuesta a
+// medida que llega del cursor JDBC. Nunca se arma la lista completa, así que la
+// memoria usada no depende de la cantidad de filas del rango.
+@Service
+public class ExportacionService {
+
+    private static final String CABECERA_VENTAS =
+            "id,fecha,valor_venta,estado,descripcion,cliente_id,cliente_nombre,cliente_cedula,vendedor_id,vendedor_nombre";
+
+    private static final String CABECERA_CONTABILIDAD =
+            "id,fecha,tipo_movimiento,ingresos,gastos,descripcion";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private VentaRepository ventaRepository;
+
+    @Autowired
+    private ContabilidadRepository contabilidadRepository;
+
+    // La transacción mantiene abierta la conexión mientras se recorre el cursor
+    @Transactional(readOnly = true)
+    public void exportarVentas(LocalDate inicio, LocalDate fin, FormatoExportacion formato, OutputStream salida)
+            throws IOException {
+        try (Stream<VentaExportacion> ventas = ventaRepository.streamExportacion(inicio, fin)) {
+            if (formato == FormatoExportacion.NDJSON) {
+                escribirNdjson(ventas.iterator(), VentaExportacion.class, salida);
+                return;
+            }
+
+            Writer escritor = escritorCsv(salida, CABECERA_VENTAS);
+            Iterator<VentaExportacion> filas = ventas.iterator();
+            while (filas.hasNext()) {
+                VentaExportacion venta = filas.next();
+                escribirFilaCsv(escritor, venta.id(), venta.fecha(), venta.valorVenta(), venta.estado(),
+                        venta.descripcion(), venta.clienteId(), venta.clienteNombre(), venta.clienteCedula(),
+                        venta.vendedorId(), venta.vendedorNombre());
+            }
+            escritor.flush();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportarContabilidad(LocalDate inicio, LocalDate fin, FormatoExportacion formato, OutputStream salida)
+            throws IOException {
+        // Cada entidad se desasocia del contexto apenas se lee (no tiene asociaciones
+        // lazy) para que el persistence context no crezca con el rango
+        try (Stream<Contabilidad> registros = contabilidadRepository.streamByFechaBetween(inicio, fin)
+                .peek(entityManager::detach)) {
+            if (formato == FormatoExportacion.NDJSON) {
+                escribirNdjson(registros.iterator(), Contabilidad.class, salida);
+                return;
+            }
+
+            Writer escritor = escritorCsv(salida, CABECERA_CONTABILIDAD);
+            Iterator<Contabilidad> filas = registros.iterator();
+            while (filas.hasNext()) {
+                Contabilidad registro = filas.next();
+                escribirFilaCsv(escritor, registro.getId(), registro.getFecha(), registro.getTipoMovimiento(),
+                        registro.getIngresos(), registro.getGastos(), registro.getDescripcion());
+            }
+            escritor.flush();
+        }
+    }
+
+    // Un objeto JSON por línea. El generador escribe sobre un buffer propio y solo
+    // vacía hacia la respuesta cuando se llena, no después de cada fila.
+    private <T> void escribirNdjson(Iterator<T> filas, Class<T> tipo, OutputStream salida) throws IOException {
+        ObjectWriter escritor = objectMapper.writerFor(tipo)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generador = objectMapper.getFactory().createGenerator(salida)) {
+            generador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generador.setRootValueSeparator(null);
+            while (filas.hasNext()) {
+                escritor.writeValue(generador, filas.next());
+                generador.writeRaw('\n');
+            }
+        }
+    }
+
+    private Writer escritorCsv(OutputStream salida, String cabecera) throws IOException {
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+        escritor.write(cabecera);
+        escritor.write('\n');
+        return escritor;
+    }
+
+    private void escribirFilaCsv(Writer escritor, Object... valores) throws IOException {
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                escritor.write(',');
+            }
+            escritor.write(valorCsv(valores[i]));
+        }
+        escritor.write('\n');
+    }
+
+    // Entre comillas solo si el valor contiene separadores, comillas o saltos de línea
+    private String valorCsv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor.toString();
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            return texto;
+        }
+        return '"' + texto.replace("\"", "\"\"") + '"';
+    }
+}
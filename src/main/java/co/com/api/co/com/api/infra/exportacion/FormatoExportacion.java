@@ -0,0 +1,28 @@
+package co.com.api.co.com.api.infra.exportacion;
+
+// Formatos soportados por los endpoints de exportación
+public enum FormatoExportacion {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    FormatoExportacion(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    // Lanza IllegalArgumentException si el formato no existe
+    public static FormatoExportacion desde(String formato) {
+        return FormatoExportacion.valueOf(formato.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,81 @@
+package co.com.api.co.com.api.infra.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Filtro de Logback que corre antes de armar el evento: limita cada logger a
+// maximoPorSegundo eventos por segundo y, para los loggers configurados con
+// <muestra>logger=N</muestra>, deja pasar uno de cada N eventos DEBUG/TRACE. Un logger que entra en
+// bucle (un token inválido repetido, una consulta que falla en cada request) no
+// satura la cola del appender asíncrono. ERROR nunca se descarta.
+// Se configura en logback-spring.xml.
+public class LimiteLogs extends TurboFilter {
+
+    private int maximoPorSegundo = 100;
+    private final Map<String, Integer> muestras = new ConcurrentHashMap<>();
+    private final Map<String, Ventana> ventanas = new ConcurrentHashMap<>();
+    private final AtomicLong descartados = new AtomicLong();
+
+    // Eventos de un logger en el segundo actual y contador para el muestreo
+    private static final class Ventana {
+        private volatile long segundo;
+        private final AtomicLong enSegundo = new AtomicLong();
+        private final AtomicLong total = new AtomicLong();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // isXxxEnabled() llega sin formato; ERROR y los niveles apagados siguen su curso
+        if (format == null || level.isGreaterOrEqual(Level.ERROR) || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Ventana ventana = ventanas.computeIfAbsent(logger.getName(), nombre -> new Ventana());
+
+        Integer cadaN = muestras.get(logger.getName());
+        if (cadaN != null && !level.isGreaterOrEqual(Level.INFO) && ventana.total.getAndIncrement() % cadaN != 0) {
+            descartados.incrementAndGet();
+            return FilterReply.DENY;
+        }
+
+        long segundo = System.currentTimeMillis() / 1000;
+        if (ventana.segundo != segundo) {
+            // Carrera benigna al cambiar de segundo: a lo sumo unos eventos de más
+            ventana.segundo = segundo;
+            ventana.enSegundo.set(0);
+        }
+        if (ventana.enSegundo.incrementAndGet() > maximoPorSegundo) {
+            descartados.incrementAndGet();
+            return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    public void setMaximoPorSegundo(int maximoPorSegundo) {
+        this.maximoPorSegundo = maximoPorSegundo;
+    }
+
+    // <muestra>co.com.api.co.com.api.infra.security.SecurityFilter=100</muestra>
+    public void addMuestra(String muestra) {
+        int separador = muestra.lastIndexOf('=');
+        if (separador <= 0) {
+            addError("Muestra inválida, se espera logger=N: " + muestra);
+            return;
+        }
+        int cadaN = Integer.parseInt(muestra.substring(separador + 1).trim());
+        if (cadaN > 1) {
+            muestras.put(muestra.substring(0, separador).trim(), cadaN);
+        }
+    }
+
+    // Eventos descartados desde el arranque (muestreo y límite por segundo)
+    public long getDescartados() {
+        return descartados.get();
+    }
+}
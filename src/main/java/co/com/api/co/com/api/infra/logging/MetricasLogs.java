@@ -0,0 +1,27 @@
+package co.com.api.co.com.api.infra.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+// Publica como métrica los eventos que LimiteLogs descartó (api.logs.descartados)
+@Component
+public class MetricasLogs implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext contexto)) {
+            return;
+        }
+        contexto.getTurboFilterList().stream()
+                .filter(LimiteLogs.class::isInstance)
+                .map(LimiteLogs.class::cast)
+                .findFirst()
+                .ifPresent(limite -> FunctionCounter.builder("api.logs.descartados", limite, LimiteLogs::getDescartados)
+                        .description("Eventos de log descartados por muestreo o límite por segundo")
+                        .register(registry));
+    }
+}
@@ -0,0 +1,21 @@
+package co.com.api.co.com.api.infra.metricas;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Timers por endpoint (http.server.requests) y por método de repositorio
+// (spring.data.repository.invocations) los registra Spring Boot; aquí solo se agrega
+// el contador de errores. Histogramas y rangos en application.properties.
+@Configuration
+public class MetricasConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private MetricasErrores metricasErrores;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(metricasErrores).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,40 @@
+package co.com.api.co.com.api.infra.metricas;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Cuenta las respuestas 4xx/5xx de los controladores por endpoint. Los controladores
+// capturan sus excepciones y devuelven el código, así que el timer http.server.requests
+// no ve la excepción; este contador separa errores por endpoint sin filtrar el timer.
+// Los 401/403 de SecurityFilter no llegan al controlador y solo quedan en el timer.
+@Component
+public class MetricasErrores implements HandlerInterceptor {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int status = response.getStatus();
+        if (status < 400 && ex == null) {
+            return;
+        }
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Counter.builder("api.http.errores")
+                .description("Respuestas con error por endpoint")
+                // El patrón (/api/ventas/{id}) y no la URL: una serie por endpoint, no por id
+                .tag("endpoint", patron != null ? patron.toString() : "UNKNOWN")
+                .tag("method", request.getMethod())
+                .tag("status", String.valueOf(status))
+                .tag("outcome", status >= 500 || ex != null ? "SERVER_ERROR" : "CLIENT_ERROR")
+                .tag("exception", ex != null ? ex.getClass().getSimpleName() : "none")
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,76 @@
+package co.com.api.co.com.api.infra.notificaciones;
+
+import co.com.api.co.com.api.domain.productos.AlertaStockBajo;
+import co.com.api.co.com.api.domain.productos.MonitorStockBajo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Suscripciones Server-Sent Events a las alertas de stock bajo. Los tableros se
+// suscriben una vez y reciben cada cruce del umbral en lugar de consultar
+// /stock-bajo/{stock} cada pocos segundos.
+@Component
+public class NotificadorStockBajo {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificadorStockBajo.class);
+
+    @Autowired
+    private MonitorStockBajo monitorStockBajo;
+
+    // Al vencer, EventSource del navegador se reconecta solo y recibe de nuevo el estado inicial
+    @Value("${api.productos.stock-bajo.sse-timeout:30m}")
+    private Duration timeout;
+
+    private final List<SseEmitter> suscriptores = new CopyOnWriteArrayList<>();
+
+    // Registra al cliente y le envía de inmediato los productos que ya están bajo el umbral
+    public SseEmitter suscribir() {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        emitter.onCompletion(() -> suscriptores.remove(emitter));
+        emitter.onTimeout(() -> suscriptores.remove(emitter));
+        emitter.onError(error -> suscriptores.remove(emitter));
+        suscriptores.add(emitter);
+
+        try {
+            emitter.send(SseEmitter.event()
+                    .name("inicial")
+                    .data(monitorStockBajo.debajoDelUmbral()));
+        } catch (IOException e) {
+            suscriptores.remove(emitter);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    // Fuera del hilo que confirmó la transacción: un cliente lento no demora la escritura
+    @Async
+    @EventListener
+    public void alCruzarUmbral(AlertaStockBajo alerta) {
+        SseEmitter.SseEventBuilder evento = SseEmitter.event()
+                .name(alerta.tipo() == AlertaStockBajo.Tipo.BAJO ? "stock-bajo" : "stock-recuperado")
+                .data(alerta);
+        for (SseEmitter emitter : suscriptores) {
+            try {
+                emitter.send(evento);
+            } catch (Exception e) {
+                // Cliente desconectado
+                suscriptores.remove(emitter);
+                logger.debug("Suscriptor de stock bajo desconectado: {}", e.getMessage());
+            }
+        }
+    }
+
+    public int cantidadSuscriptores() {
+        return suscriptores.size();
+    }
+}
@@ -0,0 +1,113 @@
+package co.com.api.co.com.api.infra.reactivo;
+
+import co.com.api.co.com.api.domain.contabilidad.Contabilidad;
+import co.com.api.co.com.api.domain.productos.ProductoEstado;
+import co.com.api.co.com.api.domain.ventas.Venta;
+import co.com.api.co.com.api.domain.ventas.VentaResumen;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Consultas de solo lectura por R2DBC. Cada una devuelve un Flux que emite filas a
+// medida que el suscriptor las pide: ni la consulta ni el hilo quedan esperando a un
+// cliente lento, y el resultado nunca se arma completo en memoria.
+@Service
+@ConditionalOnProperty(name = "api.reactivo.enabled", havingValue = "true")
+public class ConsultasReactivas {
+
+    // Filas pedidas al driver por tanda; el resto de la demanda la marca el cliente
+    private static final int TANDA = 256;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    // Catálogo ordenado por id, opcionalmente de una categoría y desde un cursor
+    public Flux<ProductoEstado> productos(String categoria, Long despuesDe) {
+        String sql = "SELECT id, nombre, categoria, stock, precio, fecha_vencimiento, version FROM productos WHERE id > :despuesDe"
+                + (categoria != null ? " AND categoria = :categoria" : "")
+                + " ORDER BY id";
+        DatabaseClient.GenericExecuteSpec consulta = databaseClient.sql(sql)
+                .bind("despuesDe", despuesDe != null ? despuesDe : 0L);
+        if (categoria != null) {
+            consulta = consulta.bind("categoria", categoria);
+        }
+        return consulta.map(ConsultasReactivas::producto).all().limitRate(TANDA);
+    }
+
+    // Ventas de un rango de fechas con cliente, vendedor y cantidad de productos
+    public Flux<VentaResumen> ventasPorFecha(LocalDate inicio, LocalDate fin) {
+        return databaseClient.sql("""
+                        SELECT v.id, v.fecha, v.valor_venta, v.estado,
+                               c.id AS cliente_id, c.nombre AS cliente_nombre,
+                               e.id AS vendedor_id, e.nombre AS vendedor_nombre,
+                               (SELECT COUNT(*) FROM venta_productos vp WHERE vp.venta_id = v.id) AS productos
+                        FROM ventas v
+                        JOIN clientes c ON c.id = v.cliente_id
+                        JOIN empleados e ON e.id = v.vendedor_id
+                        WHERE v.fecha BETWEEN :inicio AND :fin
+                        ORDER BY v.fecha, v.id
+                        """)
+                .bind("inicio", inicio)
+                .bind("fin", fin)
+                .map(ConsultasReactivas::venta)
+                .all()
+                .limitRate(TANDA);
+    }
+
+    // Movimientos contables de un rango de fechas
+    public Flux<Contabilidad> contabilidadPorFecha(LocalDate inicio, LocalDate fin) {
+        return databaseClient.sql("""
+                        SELECT id, gastos, ingresos, fecha, descripcion, tipo_movimiento
+                        FROM contabilidad
+                        WHERE fecha BETWEEN :inicio AND :fin
+                        ORDER BY fecha, id
+                        """)
+                .bind("inicio", inicio)
+                .bind("fin", fin)
+                .map(ConsultasReactivas::movimiento)
+                .all()
+                .limitRate(TANDA);
+    }
+
+    private static ProductoEstado producto(Readable row) {
+        return new ProductoEstado(
+                row.get("id", Long.class),
+                row.get("nombre", String.class),
+                row.get("categoria", String.class),
+                row.get("stock", Integer.class),
+                row.get("precio", BigDecimal.class),
+                row.get("fecha_vencimiento", LocalDate.class),
+                row.get("version", Long.class));
+    }
+
+    private static VentaResumen venta(Readable row) {
+        return new VentaResumen(
+                row.get("id", Long.class),
+                row.get("fecha", LocalDate.class),
+                row.get("valor_venta", BigDecimal.class),
+                Venta.EstadoVenta.valueOf(row.get("estado", String.class)),
+                row.get("cliente_id", Long.class),
+                row.get("cliente_nombre", String.class),
+                row.get("vendedor_id", Long.class),
+                row.get("vendedor_nombre", String.class),
+                row.get("productos", Long.class).intValue());
+    }
+
+    // Contabilidad se usa como DTO: la instancia no pasa por JPA
+    private static Contabilidad movimiento(Readable row) {
+        Contabilidad contabilidad = new Contabilidad(
+                row.get("gastos", BigDecimal.class),
+                row.get("ingresos", BigDecimal.class),
+                row.get("fecha", LocalDate.class),
+                row.get("descripcion", String.class),
+                Contabilidad.TipoMovimiento.valueOf(row.get("tipo_movimiento", String.class)));
+        contabilidad.setId(row.get("id", Long.class));
+        return contabilidad;
+    }
+}
@@ -0,0 +1,45 @@
+package co.com.api.co.com.api.infra.reactivo;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+// Pool R2DBC de la API de lectura reactiva. Se arma a mano porque la autoconfiguración
+// de R2DBC está excluida (ver application.properties); usa el mismo usuario que JDBC.
+@Configuration
+@ConditionalOnProperty(name = "api.reactivo.enabled", havingValue = "true")
+public class ReactivoConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool conexionesReactivas(
+            @Value("${api.reactivo.url}") String url,
+            @Value("${spring.datasource.username}") String usuario,
+            @Value("${spring.datasource.password}") String clave,
+            @Value("${api.reactivo.pool.inicial:2}") int inicial,
+            @Value("${api.reactivo.pool.maximo:10}") int maximo,
+            @Value("${api.reactivo.pool.espera-maxima:5s}") Duration esperaMaxima) {
+        ConnectionFactoryOptions opciones = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, usuario)
+                .option(ConnectionFactoryOptions.PASSWORD, clave)
+                .build();
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(opciones))
+                .name("reactivo")
+                .initialSize(inicial)
+                .maxSize(maximo)
+                .maxAcquireTime(esperaMaxima)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionPool conexionesReactivas) {
+        return DatabaseClient.create(conexionesReactivas);
+    }
+}
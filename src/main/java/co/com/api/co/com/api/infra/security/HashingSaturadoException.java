@@ -0,0 +1,9 @@
+package co.com.api.co.com.api.infra.security;
+
+// El executor de BCrypt tiene todos los hilos ocupados y la cola llena
+public class HashingSaturadoException extends RuntimeException {
+
+    public HashingSaturadoException() {
+        super("Executor de contraseñas saturado");
+    }
+}
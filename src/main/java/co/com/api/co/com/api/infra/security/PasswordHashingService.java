@@ -0,0 +1,100 @@
+package co.com.api.co.com.api.infra.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Ejecuta el hash y la verificación de contraseñas (BCrypt) en un pool propio con
+// hilos y cola acotados. Los hilos de Tomcat no quedan ocupados durante el hash y,
+// si el pool está saturado, la tarea se rechaza al instante con
+// HashingSaturadoException en lugar de encolarse sin límite.
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Timer tiempoVerificar;
+    private final Timer tiempoCodificar;
+    private final Counter rechazos;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${api.security.bcrypt.hilos:0}") int hilos,
+                                  @Value("${api.security.bcrypt.cola-maxima:64}") int colaMaxima) {
+        this.passwordEncoder = passwordEncoder;
+
+        // 0 = un hilo por CPU: BCrypt es CPU puro, más hilos no aumentan el throughput
+        int tamano = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(tamano, tamano, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(colaMaxima), new HilosBcrypt(), new ThreadPoolExecutor.AbortPolicy());
+
+        this.tiempoVerificar = Timer.builder("auth.password.hash")
+                .description("Tiempo de BCrypt por operación")
+                .tag("operacion", "verificar")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.tiempoCodificar = Timer.builder("auth.password.hash")
+                .description("Tiempo de BCrypt por operación")
+                .tag("operacion", "codificar")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.rechazos = Counter.builder("auth.password.rechazos")
+                .description("Operaciones rechazadas por executor saturado")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.cola", executor, e -> e.getQueue().size())
+                .description("Operaciones de BCrypt esperando hilo")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.activos", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hilos de BCrypt ocupados")
+                .register(meterRegistry);
+    }
+
+    // Lanza HashingSaturadoException si no hay lugar en el pool
+    public CompletableFuture<Boolean> verificar(String password, String hash) {
+        return ejecutar(tiempoVerificar, () -> passwordEncoder.matches(password, hash));
+    }
+
+    // Lanza HashingSaturadoException si no hay lugar en el pool
+    public CompletableFuture<String> codificar(String password) {
+        return ejecutar(tiempoCodificar, () -> passwordEncoder.encode(password));
+    }
+
+    private <T> CompletableFuture<T> ejecutar(Timer timer, Supplier<T> operacion) {
+        try {
+            return CompletableFuture.supplyAsync(() -> timer.record(operacion), executor);
+        } catch (RejectedExecutionException e) {
+            rechazos.increment();
+            throw new HashingSaturadoException();
+        }
+    }
+
+    @PreDestroy
+    void detener() {
+        executor.shutdown();
+    }
+
+    private static class HilosBcrypt implements ThreadFactory {
+        private final AtomicInteger contador = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable tarea) {
+            Thread hilo = new Thread(tarea, "bcrypt-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package co.com.api.co.com.api.infra.security;
 
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -21,6 +24,7 @@ import java.util.Arrays;
 
 @Configuration
 @EnableWebSecurity
+@EnableMethodSecurity
 public class SecurityConfigurations {
     @Autowired
     private SecurityFilter securityFilter;
@@ -32,10 +36,17 @@ public class SecurityConfigurations {
                 .and().sessionManagement()
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 .and().authorizeHttpRequests()
+                // El request original ya se autorizó; el dispatch asíncrono (SSE, respuestas
+                // diferidas) no vuelve a pasar por SecurityFilter y no tiene el token cargado
+                .dispatcherTypeMatchers(DispatcherType.ASYNC)
+                .permitAll()
                 .requestMatchers("/api/auth/**")
                 .permitAll()
                 .requestMatchers("/api/init/**")
                 .permitAll()
+                // Health checks y scraper de Prometheus; el resto de /actuator requiere token
+                .requestMatchers("/actuator/health/**", "/actuator/prometheus")
+                .permitAll()
                 .requestMatchers("/swagger-ui.html", "/v3/api-docs/**","/swagger-ui/**", "/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**", "/swagger-resources/**", "/webjars/**")
                 .permitAll()
                 .anyRequest().authenticated()
@@ -48,9 +59,11 @@ public class SecurityConfigurations {
             throws Exception {
         return authenticationConfiguration.getAuthenticationManager();
     }
+    // Costo de BCrypt configurable: cada +1 duplica el CPU por login. Los hashes
+    // existentes guardan su propio costo y se siguen verificando.
     @Bean
-    public PasswordEncoder bCryptPasswordEncoder(){
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder bCryptPasswordEncoder(@Value("${api.security.bcrypt.strength:10}") int strength){
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -1,7 +1,10 @@
 package co.com.api.co.com.api.infra.security;
 
 
+import co.com.api.co.com.api.domain.roles.RegistroPermisos;
 import co.com.api.co.com.api.domain.usuarios.UsuarioReposotiry;
+import co.com.api.co.com.api.infra.security.SesionCache.SesionAutenticada;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,7 +12,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.slf4j.Logger;
@@ -28,40 +30,62 @@ public class SecurityFilter extends OncePerRequestFilter {
     @Autowired
     private UsuarioReposotiry usuarioReposotiry;
 
+    @Autowired
+    private SesionCache sesionCache;
+
+    @Autowired
+    private RegistroPermisos registroPermisos;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String Auth = request.getHeader("Authorization");
         String requestURI = request.getRequestURI();
-        
-        logger.info("SecurityFilter - Request URI: {}", requestURI);
-        logger.info("SecurityFilter - Authorization header: {}", Auth != null ? "Present" : "Missing");
-        
+
+        // Traza por request solo en DEBUG; con el nivel apagado atDebug() no arma el evento
+        logger.atDebug()
+                .addKeyValue("uri", requestURI)
+                .addKeyValue("authorization", Auth != null ? "presente" : "ausente")
+                .log("SecurityFilter - request");
+
         // Solo procesar token si existe y no es un endpoint de autenticación
         if(Auth != null && !Auth.isEmpty() && !requestURI.startsWith("/api/auth/")){
             Auth = Auth.replace("Bearer ", "");
             if(!Auth.isEmpty()){
                 try {
-                    logger.info("SecurityFilter - Processing token for URI: {}", requestURI);
-                    String username = tokenGenerate.getSujet(Auth);
-                    logger.info("SecurityFilter - Extracted username: {}", username);
-                    
-                    UserDetails usuario = usuarioReposotiry.findByUser(username)
-                            .orElse(null);
-                    if (usuario != null) {
-                        logger.info("SecurityFilter - User found: {}, authorities: {}", usuario.getUsername(), usuario.getAuthorities());
-                        var Authenticado = new UsernamePasswordAuthenticationToken(usuario,null,usuario.getAuthorities());
+                    // Token ya verificado: se toma de la cache sin consultar la base de datos
+                    SesionAutenticada sesion = sesionCache.obtener(Auth, this::resolverSesion);
+                    if (sesion != null) {
+                        var Authenticado = new UsernamePasswordAuthenticationToken(sesion.usuario(), null, sesion.authorities());
                         SecurityContextHolder.getContext().setAuthentication(Authenticado);
-                        logger.info("SecurityFilter - Authentication set successfully");
-                    } else {
-                        logger.warn("SecurityFilter - User not found: {}", username);
+                        logger.atDebug()
+                                .addKeyValue("uri", requestURI)
+                                .addKeyValue("usuario", () -> sesion.usuario().getUsername())
+                                .addKeyValue("authorities", () -> sesion.authorities().toString())
+                                .log("SecurityFilter - autenticado");
                     }
                 } catch (Exception e) {
-                    logger.error("SecurityFilter - Error processing token: {}", e.getMessage());
+                    // Tokens vencidos o adulterados llegan en ráfagas; LimiteLogs acota este WARN
+                    logger.warn("SecurityFilter - token rechazado: {}", e.getMessage());
                 }
             }
-        } else {
-            logger.info("SecurityFilter - Skipping token processing for URI: {}", requestURI);
         }
         filterChain.doFilter(request,response);
     }
+
+    // Verifica el token y carga el usuario. null si el usuario ya no existe (no se cachea).
+    private SesionAutenticada resolverSesion(String token) {
+        DecodedJWT jwt = tokenGenerate.verificar(token);
+        String username = jwt.getSubject();
+
+        return usuarioReposotiry.findByUser(username)
+                .map(usuario -> {
+                    // Bitset de permisos calculado una vez por sesión
+                    usuario.setPermisosEfectivos(registroPermisos.calcular(usuario.getRoles()));
+                    return new SesionAutenticada(usuario, jwt.getExpiresAtAsInstant());
+                })
+                .orElseGet(() -> {
+                    logger.warn("SecurityFilter - User not found: {}", username);
+                    return null;
+                });
+    }
 }
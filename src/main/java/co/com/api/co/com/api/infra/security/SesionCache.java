@@ -0,0 +1,110 @@
+package co.com.api.co.com.api.infra.security;
+
+import co.com.api.co.com.api.domain.usuarios.Usuario;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Cache acotada de token verificado -> usuario autenticado con sus authorities ya
+// calculadas. Un request con un token en cache no verifica la firma ni consulta
+// usuarios, roles y permisos. Cada entrada vence con el TTL configurado o con la
+// expiración del propio JWT, lo que ocurra primero.
+@Component
+public class SesionCache {
+
+    // Usuario resuelto para un token. authorities se toma al cachear para no
+    // recalcularlas desde roles y permisos en cada request.
+    public record SesionAutenticada(
+        Usuario usuario,
+        Collection<? extends GrantedAuthority> authorities,
+        Instant expiracionToken
+    ) {
+        public SesionAutenticada(Usuario usuario, Instant expiracionToken) {
+            this(usuario, List.copyOf(usuario.getAuthorities()), expiracionToken);
+        }
+    }
+
+    private final Cache<String, SesionAutenticada> sesiones;
+
+    // Sube con cada invalidación. Una carga que empezó antes de una invalidación pudo
+    // leer roles o permisos viejos y no debe quedar en la cache.
+    private final AtomicLong generacion = new AtomicLong();
+
+    public SesionCache(@Value("${api.security.cache.max-tokens:10000}") long maxTokens,
+                       @Value("${api.security.cache.ttl:5m}") Duration ttl) {
+        this.sesiones = Caffeine.newBuilder()
+                .maximumSize(maxTokens)
+                .expireAfter(new Expiry<String, SesionAutenticada>() {
+                    @Override
+                    public long expireAfterCreate(String token, SesionAutenticada sesion, long ahora) {
+                        if (sesion.expiracionToken() == null) {
+                            return ttl.toNanos();
+                        }
+                        Duration restante = Duration.between(Instant.now(), sesion.expiracionToken());
+                        return Math.max(0, Math.min(ttl.toNanos(), restante.toNanos()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, SesionAutenticada sesion, long ahora, long duracionActual) {
+                        return expireAfterCreate(token, sesion, ahora);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, SesionAutenticada sesion, long ahora, long duracionActual) {
+                        return duracionActual;
+                    }
+                })
+                .build();
+    }
+
+    // Devuelve la sesión del token o la resuelve con el loader. Si el loader lanza
+    // excepción o devuelve null no se guarda nada.
+    //
+    // El loader consulta la base de datos y corre fuera de la cache: Cache.get lo
+    // ejecutaría dentro de ConcurrentHashMap.compute, que sostiene un monitor y fija el
+    // hilo virtual a su carrier durante toda la consulta. Dos requests simultáneos con el
+    // mismo token nuevo pueden resolverlo dos veces; el resultado es el mismo.
+    //
+    // Como la carga no está dentro de la cache, una invalidación puede ocurrir mientras
+    // corre y no encontrar nada que borrar. Después del put se compara la generación: si
+    // cambió, la sesión cargada se retira y el siguiente request la vuelve a resolver.
+    public SesionAutenticada obtener(String token, Function<String, SesionAutenticada> loader) {
+        SesionAutenticada sesion = sesiones.getIfPresent(token);
+        if (sesion != null) {
+            return sesion;
+        }
+        long generacionInicial = generacion.get();
+        sesion = loader.apply(token);
+        if (sesion != null) {
+            sesiones.put(token, sesion);
+            if (generacion.get() != generacionInicial) {
+                // Solo se retira la propia: otra carga posterior pudo dejar una sesión vigente
+                sesiones.asMap().remove(token, sesion);
+            }
+        }
+        return sesion;
+    }
+
+    // Descarta todos los tokens del usuario (cambio de roles, estado, contraseña o baja).
+    // Recorre la cache: son cambios administrativos poco frecuentes.
+    public void invalidarUsuario(Long usuarioId) {
+        generacion.incrementAndGet();
+        sesiones.asMap().values().removeIf(sesion -> usuarioId.equals(sesion.usuario().getId()));
+    }
+
+    // Descarta todas las sesiones, por ejemplo cuando cambian los permisos de un rol
+    public void invalidarTodo() {
+        generacion.incrementAndGet();
+        sesiones.invalidateAll();
+    }
+}
@@ -6,6 +6,8 @@ import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.auth0.jwt.interfaces.JWTVerifier;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -19,9 +21,21 @@ public class TokenGenerate {
     @Value("${api.security.secret}")
     private String valorSecret;
 
+    // Algorithm y JWTVerifier son inmutables y thread-safe: se crean una sola vez
+    // en lugar de reconstruir la clave HMAC en cada request
+    private Algorithm algorithm;
+    private JWTVerifier verifier;
+
+    @PostConstruct
+    void inicializar() {
+        algorithm = Algorithm.HMAC256(valorSecret);
+        verifier = JWT.require(algorithm)
+                .withIssuer("inventory")
+                .build();
+    }
+
     public String generarToken(Usuario usuario){
         try {
-            Algorithm algorithm = Algorithm.HMAC256(valorSecret);
             return JWT.create()
                     .withIssuer("inventory")
                     .withSubject(usuario.getUser())
@@ -33,24 +47,25 @@ public class TokenGenerate {
         }
     }
     public String getSujet(String Token){
+        return verificar(Token).getSubject();
+    }
+
+    // Verifica firma, emisor y expiración. Devuelve el token decodificado con un
+    // sujeto válido o lanza RuntimeException.
+    public DecodedJWT verificar(String Token){
         if(Token == null){
             throw new RuntimeException("TOken nulo");
         }
-        String user = "";
+        DecodedJWT decodificado = null;
         try {
-            Algorithm algorithm = Algorithm.HMAC256(valorSecret);
-            DecodedJWT verifier = JWT.require(algorithm)
-                    .withIssuer("inventory")
-                    .build().verify(Token);
-
-            user = verifier.getSubject();
+            decodificado = verifier.verify(Token);
         } catch (JWTVerificationException exception){
             // Invalid signature/claims
         }
-        if(user == "" || user == null){
+        if(decodificado == null || decodificado.getSubject() == null || decodificado.getSubject().isEmpty()){
             throw new RuntimeException("user no valido");
         }
-        return user;
+        return decodificado;
     }
 
     private Instant generarFechaExpiracion() {
@@ -0,0 +1,33 @@
+package co.com.api.co.com.api.infra.security;
+
+import co.com.api.co.com.api.domain.roles.PermisosEfectivos;
+import co.com.api.co.com.api.domain.roles.RegistroPermisos;
+import co.com.api.co.com.api.domain.usuarios.Usuario;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+// Verificación de permisos del usuario autenticado con un bit test, sin recorrer
+// authorities. Uso: @PreAuthorize("@permisos.tiene('PRODUCTOS_LEER')")
+@Component("permisos")
+public class VerificadorPermisos {
+
+    @Autowired
+    private RegistroPermisos registroPermisos;
+
+    public boolean tiene(String permiso) {
+        Authentication autenticacion = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacion == null || !(autenticacion.getPrincipal() instanceof Usuario usuario)) {
+            return false;
+        }
+
+        PermisosEfectivos permisosEfectivos = usuario.getPermisosEfectivos();
+        if (permisosEfectivos == null) {
+            // Principal armado fuera de SecurityFilter: se compara por nombre
+            return usuario.getAuthorities().stream()
+                    .anyMatch(authority -> authority.getAuthority().equals(permiso));
+        }
+        return permisosEfectivos.tiene(registroPermisos.indice(permiso));
+    }
+}
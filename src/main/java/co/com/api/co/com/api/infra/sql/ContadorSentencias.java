@@ -0,0 +1,84 @@
+package co.com.api.co.com.api.infra.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Listener de datasource-proxy que cuenta las sentencias JDBC del hilo actual mientras
+// hay una medición abierta (un request HTTP). Guarda cuántas veces se repitió cada
+// SELECT para detectar N+1: la misma consulta con distinto parámetro por cada fila.
+public class ContadorSentencias implements QueryExecutionListener {
+
+    // Consultas distintas que se registran por request; el resto solo suma al total
+    private static final int MAXIMO_CONSULTAS_DISTINTAS = 500;
+
+    private static final ThreadLocal<Medicion> ACTUAL = new ThreadLocal<>();
+
+    // Sentencias de un request y repeticiones por SQL
+    public static final class Medicion {
+        private int sentencias;
+        private long milisegundos;
+        private final Map<String, Integer> repeticiones = new HashMap<>();
+
+        public int getSentencias() {
+            return sentencias;
+        }
+
+        public long getMilisegundos() {
+            return milisegundos;
+        }
+
+        // SELECT ejecutados al menos umbral veces en el request, con su cantidad
+        public Map<String, Integer> repetidas(int umbral) {
+            Map<String, Integer> repetidas = new HashMap<>();
+            repeticiones.forEach((sql, veces) -> {
+                if (veces >= umbral) {
+                    repetidas.put(sql, veces);
+                }
+            });
+            return repetidas;
+        }
+    }
+
+    public static void iniciar() {
+        ACTUAL.set(new Medicion());
+    }
+
+    // Cierra la medición del hilo y la devuelve; null si no había una abierta
+    public static Medicion terminar() {
+        Medicion medicion = ACTUAL.get();
+        ACTUAL.remove();
+        return medicion;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Medicion medicion = ACTUAL.get();
+        if (medicion == null) {
+            return;
+        }
+        // Un batch JDBC es un solo viaje a la base aunque lleve muchas filas
+        medicion.sentencias++;
+        medicion.milisegundos += execInfo.getElapsedTime();
+        if (execInfo.isBatch()) {
+            return;
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            String sql = queryInfo.getQuery();
+            if (!sql.regionMatches(true, 0, "select", 0, 6)) {
+                continue;
+            }
+            if (medicion.repeticiones.size() < MAXIMO_CONSULTAS_DISTINTAS || medicion.repeticiones.containsKey(sql)) {
+                medicion.repeticiones.merge(sql, 1, Integer::sum);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package co.com.api.co.com.api.infra.sql;
+
+import net.ttddyy.dsproxy.listener.logging.SLF4JLogLevel;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+// Envuelve el DataSource (Hikari) con datasource-proxy: JPA, JdbcTemplate y Flyway pasan
+// por el proxy. Cuenta sentencias por request (ContadorSentencias) y registra en WARN las
+// consultas que superan api.sql.lenta-ms, con sus parámetros, en el logger
+// co.com.api.co.com.api.sql.lentas. Reemplaza a spring.jpa.show-sql.
+@Component
+public class ProxySql implements BeanPostProcessor {
+
+    @Value("${api.sql.proxy.enabled:true}")
+    private boolean habilitado;
+
+    @Value("${api.sql.lenta-ms:500}")
+    private long lentaMs;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!habilitado || !(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+            return bean;
+        }
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name(beanName)
+                .listener(new ContadorSentencias())
+                .logSlowQueryBySlf4j(lentaMs, TimeUnit.MILLISECONDS, SLF4JLogLevel.WARN, "co.com.api.co.com.api.sql.lentas")
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package co.com.api.co.com.api.infra.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+// Abre una medición de ContadorSentencias por request, antes de Spring Security para
+// incluir la carga del usuario. Al terminar publica api.sql.sentencias por endpoint y
+// avisa de los SELECT repetidos api.sql.n-mas-uno.umbral veces o más (posible N+1).
+// Lo que corre en otro hilo (@Async, login asíncrono, streams NDJSON) no se cuenta.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SentenciasPorRequest extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SentenciasPorRequest.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${api.sql.proxy.enabled:true}")
+    private boolean habilitado;
+
+    @Value("${api.sql.n-mas-uno.umbral:10}")
+    private int umbralNMasUno;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !habilitado || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContadorSentencias.iniciar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ContadorSentencias.Medicion medicion = ContadorSentencias.terminar();
+            // Sin patrón el request no llegó a un controlador (401, 404): no es un endpoint
+            Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (medicion != null && patron != null) {
+                registrar(request.getMethod(), patron.toString(), medicion);
+            }
+        }
+    }
+
+    private void registrar(String metodo, String endpoint, ContadorSentencias.Medicion medicion) {
+        DistributionSummary.builder("api.sql.sentencias")
+                .description("Sentencias JDBC por request")
+                .tag("endpoint", endpoint)
+                .tag("method", metodo)
+                .register(meterRegistry)
+                .record(medicion.getSentencias());
+
+        Map<String, Integer> repetidas = medicion.repetidas(umbralNMasUno);
+        if (repetidas.isEmpty()) {
+            return;
+        }
+        Counter.builder("api.sql.n_mas_uno")
+                .description("Requests con un SELECT repetido por fila")
+                .tag("endpoint", endpoint)
+                .tag("method", metodo)
+                .register(meterRegistry)
+                .increment();
+        repetidas.forEach((sql, veces) -> logger.warn("Posible N+1 en {} {}: {} ejecuciones de {} ({} sentencias, {} ms en total)",
+                metodo, endpoint, veces, sql, medicion.getSentencias(), medicion.getMilisegundos()));
+    }
+}
@@ -0,0 +1,18 @@
+-- =====================================================
+-- V4: Generadores de ids por tabla para inserts en batch
+-- =====================================================
+
+-- Con AUTO_INCREMENT (IDENTITY) Hibernate necesita el id de cada fila justo después
+-- del INSERT y no puede agruparlos. Ventas y detalle_venta reservan bloques de 50 ids
+-- desde esta tabla y los INSERT se envían en batch.
+CREATE TABLE IF NOT EXISTS id_generadores (
+    entidad VARCHAR(255) NOT NULL PRIMARY KEY,
+    siguiente BIGINT
+);
+
+-- El primer bloque empieza después del mayor id existente (allocationSize = 50)
+INSERT INTO id_generadores (entidad, siguiente)
+SELECT 'ventas', COALESCE(MAX(id), 0) + 51 FROM ventas;
+
+INSERT INTO id_generadores (entidad, siguiente)
+SELECT 'detalle_venta', COALESCE(MAX(id), 0) + 51 FROM detalle_venta;
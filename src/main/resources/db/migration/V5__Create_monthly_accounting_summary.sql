@@ -0,0 +1,31 @@
+-- =====================================================
+-- V5: Resumen contable mensual materializado
+-- =====================================================
+
+-- Reemplaza la lectura de vista_resumen_contable_mensual, que recorre toda la tabla
+-- contabilidad en cada consulta. Se mantiene de forma incremental en la misma
+-- transacción que cada alta, modificación o baja de un movimiento.
+CREATE TABLE IF NOT EXISTS resumen_contable_mensual (
+    periodo INT NOT NULL PRIMARY KEY,
+    anio INT NOT NULL,
+    mes INT NOT NULL,
+    total_ingresos DECIMAL(14,2) NOT NULL DEFAULT 0.00,
+    total_gastos DECIMAL(14,2) NOT NULL DEFAULT 0.00,
+    cantidad_ingresos BIGINT NOT NULL DEFAULT 0,
+    cantidad_gastos BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+-- Carga inicial con los movimientos existentes
+INSERT INTO resumen_contable_mensual
+    (periodo, anio, mes, total_ingresos, total_gastos, cantidad_ingresos, cantidad_gastos)
+SELECT
+    YEAR(fecha) * 100 + MONTH(fecha),
+    YEAR(fecha),
+    MONTH(fecha),
+    SUM(ingresos),
+    SUM(gastos),
+    COUNT(CASE WHEN tipo_movimiento = 'INGRESO' THEN 1 END),
+    COUNT(CASE WHEN tipo_movimiento = 'GASTO' THEN 1 END)
+FROM contabilidad
+GROUP BY YEAR(fecha), MONTH(fecha);
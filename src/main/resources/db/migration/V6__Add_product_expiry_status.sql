@@ -0,0 +1,34 @@
+-- =====================================================
+-- V6: Estado de vencimiento persistido en productos
+-- =====================================================
+
+-- Antes solo existía como CASE dentro de vista_productos_stock_bajo, evaluado en
+-- cada consulta. Ahora lo mantiene la aplicación: se asigna al guardar el producto
+-- y cambia cuando vence cada plazo, sin recorrer la tabla a diario.
+ALTER TABLE productos
+    ADD COLUMN estado_vencimiento VARCHAR(20) NOT NULL DEFAULT 'VIGENTE';
+
+-- Carga inicial con el mismo criterio de la vista (aviso de 30 días)
+UPDATE productos
+SET estado_vencimiento = CASE
+    WHEN fecha_vencimiento < CURDATE() THEN 'VENCIDO'
+    WHEN fecha_vencimiento < DATE_ADD(CURDATE(), INTERVAL 30 DAY) THEN 'POR_VENCER'
+    ELSE 'VIGENTE'
+END
+WHERE fecha_vencimiento IS NOT NULL;
+
+CREATE INDEX idx_productos_estado_vencimiento ON productos(estado_vencimiento, fecha_vencimiento);
+
+-- La vista lee el estado guardado en lugar de calcularlo
+CREATE OR REPLACE VIEW vista_productos_stock_bajo AS
+SELECT
+    p.id,
+    p.nombre,
+    p.categoria,
+    p.stock,
+    p.precio,
+    p.fecha_vencimiento,
+    p.estado_vencimiento
+FROM productos p
+WHERE p.stock < 10
+ORDER BY p.stock ASC, p.fecha_vencimiento ASC;
@@ -0,0 +1,14 @@
+-- =====================================================
+-- V7: Cantidad por producto en cada inventario
+-- =====================================================
+
+-- inventario_productos deja de ser una tabla de relación sin datos y pasa a ser la
+-- línea de inventario: cuántas unidades de cada producto hay en cada inventario.
+-- Las filas existentes quedan con cantidad 1.
+ALTER TABLE inventario_productos
+    ADD COLUMN cantidad INT NOT NULL DEFAULT 1,
+    ADD COLUMN ultima_actualizacion TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    ADD CONSTRAINT chk_inventario_productos_cantidad CHECK (cantidad >= 0);
+
+-- La clave primaria (inventario_id, producto_id) ya cubre las búsquedas por inventario
+DROP INDEX idx_inventario_productos_inventario_id ON inventario_productos;
@@ -0,0 +1,7 @@
+-- =====================================================
+-- V8: Índices para las búsquedas de permisos por recurso y acción
+-- =====================================================
+
+-- GET /api/permisos/recurso/{recurso} y /accion/{accion} filtran en la base de datos
+CREATE INDEX idx_permisos_recurso_accion ON permisos(recurso, accion);
+CREATE INDEX idx_permisos_accion ON permisos(accion);
@@ -0,0 +1,8 @@
+-- =====================================================
+-- V9: Versión de productos
+-- =====================================================
+
+-- Sube con cada escritura (JPA @Version y los UPDATE directos de stock). Viaja en
+-- ProductoModificadoEvent para que los índices en memoria descarten eventos atrasados.
+ALTER TABLE productos
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
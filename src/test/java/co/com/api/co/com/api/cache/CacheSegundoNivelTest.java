@@ -0,0 +1,87 @@
+package co.com.api.co.com.api.cache;
+
+import co.com.api.co.com.api.domain.productos.Producto;
+import co.com.api.co.com.api.domain.productos.ProductoRepository;
+import co.com.api.co.com.api.domain.roles.Rol;
+import co.com.api.co.com.api.domain.roles.RolRepository;
+import co.com.api.co.com.api.domain.ventas.StockLedgerService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Arranca con la caché de segundo nivel activa, como en producción: las regiones de
+// application.conf deben resolverse en el proveedor JCache y las lecturas repetidas
+// no deben llegar a la base. Base H2 propia para no compartir esquema con otras pruebas.
+@SpringBootTest(properties = {
+        "api.cache.segundo-nivel.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:cache;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("consultas")
+class CacheSegundoNivelTest {
+
+    @Autowired
+    private RolRepository rolRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estadisticas;
+
+    @BeforeEach
+    void preparar() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void rolConPermisosSeLeeDeLaCache() {
+        // Roles y permisos los crea StartupInitializer al arrancar
+        Long rolId = rolRepository.findByNombre("ADMIN").orElseThrow().getId();
+        entityManagerFactory.getCache().evictAll();
+        rolRepository.findById(rolId).orElseThrow().getPermisos().size();
+
+        estadisticas.clear();
+        Rol rol = rolRepository.findById(rolId).orElseThrow();
+
+        assertTrue(rol.getPermisos().size() > 0);
+        assertEquals(0, estadisticas.getPrepareStatementCount(), "El rol y sus permisos deben salir de la caché");
+        assertTrue(estadisticas.getSecondLevelCacheHitCount() > 0);
+    }
+
+    @Test
+    void productoConStockPorJdbcNoSeCachea() {
+        Producto producto = productoRepository.save(new Producto("Arroz cache", LocalDate.now().plusYears(1),
+                LocalDate.now().plusYears(1), "Granos", 10, new BigDecimal("2500.00")));
+        productoRepository.findById(producto.getId()).orElseThrow();
+        assertFalse(entityManagerFactory.getCache().contains(Producto.class, producto.getId()));
+
+        // UPDATE por JDBC que Hibernate no ve: la siguiente lectura trae stock y versión nuevos
+        stockLedgerService.descontarStock(Map.of(producto.getId(), 3));
+        Producto leido = productoRepository.findById(producto.getId()).orElseThrow();
+        assertEquals(7, leido.getStock());
+        assertEquals(producto.getVersion() + 1, leido.getVersion());
+
+        // Guardar con la versión leída no choca con el bloqueo optimista
+        leido.setPrecio(new BigDecimal("2600.00"));
+        assertEquals(producto.getVersion() + 2, productoRepository.save(leido).getVersion());
+    }
+}
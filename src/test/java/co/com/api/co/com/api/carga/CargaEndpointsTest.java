@@ -0,0 +1,127 @@
+package co.com.api.co.com.api.carga;
+
+import co.com.api.co.com.api.infra.busqueda.IndiceProductos;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Prueba de carga de punta a punta: levanta la aplicación completa sobre H2, siembra
+// millones de filas sintéticas y golpea los controladores reales con usuarios virtuales
+// concurrentes. Reporta percentiles de latencia y requests por segundo por endpoint.
+//
+// No corre con mvn test; se ejecuta con el perfil carga:
+//   mvn -Pcarga test
+//   mvn -Pcarga test -Dcarga.usuarios=100 -Dcarga.duracion=60 -Dcarga.ventas=5000000
+@Tag("carga")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("carga")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CargaEndpointsTest {
+
+    private static final int CLIENTES = Integer.getInteger("carga.clientes", 1_000_000);
+    private static final int PRODUCTOS = Integer.getInteger("carga.productos", 100_000);
+    private static final int EMPLEADOS = Integer.getInteger("carga.empleados", 200);
+    private static final int VENTAS = Integer.getInteger("carga.ventas", 2_000_000);
+
+    private static final int USUARIOS_VIRTUALES = Integer.getInteger("carga.usuarios", 50);
+    private static final int SEGUNDOS_CALENTAMIENTO = Integer.getInteger("carga.calentamiento", 10);
+    private static final int SEGUNDOS_MEDICION = Integer.getInteger("carga.duracion", 30);
+
+    private static final DatosCarga DATOS = new DatosCarga(CLIENTES, PRODUCTOS, EMPLEADOS, VENTAS);
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IndiceProductos indiceProductos;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final GeneradorCarga generador = new GeneradorCarga(httpClient, USUARIOS_VIRTUALES);
+
+    private String token;
+
+    @BeforeAll
+    void preparar() throws Exception {
+        long inicio = System.nanoTime();
+        DATOS.sembrar(jdbcTemplate);
+        // Los datos se insertan por SQL después del arranque: los índices en memoria se recargan
+        indiceProductos.cargar();
+        System.out.printf("Datos sembrados en %d s: %,d clientes, %,d productos, %,d empleados, %,d ventas%n",
+                Duration.ofNanos(System.nanoTime() - inicio).toSeconds(), CLIENTES, PRODUCTOS, EMPLEADOS, VENTAS);
+
+        // El admin lo crea StartupInitializer al arrancar
+        HttpResponse<String> login = httpClient.send(HttpRequest.newBuilder(uri("/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"user\":\"admin\",\"password\":\"admin123\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertTrue(login.statusCode() == 200, "Login del admin falló: " + login.statusCode());
+        token = objectMapper.readTree(login.body()).get("token").asText();
+    }
+
+    @Test
+    void crearVenta() throws Exception {
+        ResultadoCarga resultado = medir("POST /api/ventas", random -> HttpRequest.newBuilder(uri("/api/ventas"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(DATOS.cuerpoVenta(random)))
+                .build());
+        verificar(resultado);
+    }
+
+    @Test
+    void buscarProductos() throws Exception {
+        ResultadoCarga resultado = medir("GET /api/productos/buscar", random -> {
+            // Prefijo + dígitos: devuelve decenas de productos, no miles
+            String nombre = DatosCarga.NOMBRES_PRODUCTO[random.nextInt(DatosCarga.NOMBRES_PRODUCTO.length)] + " " + random.nextInt(1, 1000);
+            return HttpRequest.newBuilder(uri("/api/productos/buscar?nombre=" + URLEncoder.encode(nombre, StandardCharsets.UTF_8)))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+        });
+        verificar(resultado);
+    }
+
+    private ResultadoCarga medir(String endpoint, Function<ThreadLocalRandom, HttpRequest> request) throws Exception {
+        return generador.medir(endpoint, request, SEGUNDOS_CALENTAMIENTO, SEGUNDOS_MEDICION);
+    }
+
+    private void verificar(ResultadoCarga resultado) {
+        assertTrue(resultado.cantidad > 0, "No se completó ningún request");
+        assertTrue(resultado.errores <= resultado.cantidad / 100,
+                "Más de 1% de errores: " + resultado.errores + " de " + resultado.cantidad);
+    }
+
+    private URI uri(String ruta) {
+        return URI.create("http://localhost:" + puerto + ruta);
+    }
+}
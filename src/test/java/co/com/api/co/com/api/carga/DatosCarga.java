@@ -0,0 +1,76 @@
+package co.com.api.co.com.api.carga;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Datos sintéticos de las pruebas de carga y los cuerpos de request que los referencian
+record DatosCarga(int clientes, int productos, int empleados, int ventas) {
+
+    static final String[] NOMBRES_PRODUCTO = {
+            "Arroz", "Leche", "Aceite", "Azucar", "Cafe", "Harina", "Jabon", "Atun"
+    };
+
+    // Inserts set-based con SYSTEM_RANGE: millones de filas en segundos sin pasar por JPA
+    void sembrar(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("""
+                INSERT INTO clientes (id, nombre, cedula, telefono, correo, direccion)
+                SELECT n, CONCAT('Cliente ', n), CAST(1000000000 + n AS VARCHAR), '3000000000',
+                       CONCAT('cliente', n, '@carga.test'), CONCAT('Calle ', MOD(n, 200), ' # ', MOD(n, 90))
+                FROM SYSTEM_RANGE(1, ?) r(n)
+                """, clientes);
+
+        StringBuilder nombre = new StringBuilder("CASE MOD(n, ").append(NOMBRES_PRODUCTO.length).append(')');
+        for (int i = 0; i < NOMBRES_PRODUCTO.length; i++) {
+            nombre.append(" WHEN ").append(i).append(" THEN '").append(NOMBRES_PRODUCTO[i]).append("'");
+        }
+        nombre.append(" END");
+        jdbcTemplate.update("""
+                INSERT INTO productos (id, nombre, fecha_expiracion, fecha_vencimiento, categoria, stock, precio,
+                                       estado_vencimiento, version)
+                SELECT n, CONCAT(%s, ' ', n), DATEADD('DAY', 180 + MOD(n, 365), CURRENT_DATE),
+                       DATEADD('DAY', 90 + MOD(n, 365), CURRENT_DATE), CONCAT('Categoria ', MOD(n, 20)),
+                       1000000, 1000 + MOD(n, 9000), 'VIGENTE', 0
+                FROM SYSTEM_RANGE(1, ?) r(n)
+                """.formatted(nombre), productos);
+
+        jdbcTemplate.update("""
+                INSERT INTO empleados (id, nombre, cedula, edad, telefono, correo, antiguedad)
+                SELECT n, CONCAT('Vendedor ', n), CAST(2000000000 + n AS VARCHAR), 20 + MOD(n, 40), '3100000000',
+                       CONCAT('vendedor', n, '@carga.test'), DATEADD('DAY', -MOD(n, 3650), CURRENT_DATE)
+                FROM SYSTEM_RANGE(1, ?) r(n)
+                """, empleados);
+
+        jdbcTemplate.update("""
+                INSERT INTO ventas (id, fecha, valor_venta, cliente_id, vendedor_id, descripcion, estado)
+                SELECT n, DATEADD('DAY', -MOD(n, 730), CURRENT_DATE), 1000 + MOD(n, 9000),
+                       MOD(n, ?) + 1, MOD(n, ?) + 1, NULL, 'COMPLETADA'
+                FROM SYSTEM_RANGE(1, ?) r(n)
+                """, clientes, empleados, ventas);
+        jdbcTemplate.update("""
+                INSERT INTO venta_productos (venta_id, producto_id)
+                SELECT n, MOD(n * 7, ?) + 1 FROM SYSTEM_RANGE(1, ?) r(n)
+                """, productos, ventas);
+        jdbcTemplate.update("""
+                INSERT INTO detalle_venta (id, venta_id, producto_id, cantidad, precio_unitario, subtotal)
+                SELECT n, n, MOD(n * 7, ?) + 1, 1, 1000 + MOD(n, 9000), 1000 + MOD(n, 9000)
+                FROM SYSTEM_RANGE(1, ?) r(n)
+                """, productos, ventas);
+
+        // Las identidades no avanzan con ids explícitos; los generadores por tabla tampoco
+        jdbcTemplate.execute("ALTER TABLE clientes ALTER COLUMN id RESTART WITH " + (clientes + 1));
+        jdbcTemplate.execute("ALTER TABLE productos ALTER COLUMN id RESTART WITH " + (productos + 1));
+        jdbcTemplate.execute("ALTER TABLE empleados ALTER COLUMN id RESTART WITH " + (empleados + 1));
+        jdbcTemplate.update("MERGE INTO id_generadores (entidad, siguiente) KEY (entidad) VALUES ('ventas', ?), ('detalle_venta', ?)",
+                ventas + 51, ventas + 51);
+    }
+
+    String cuerpoVenta(ThreadLocalRandom random) {
+        long productoId = random.nextLong(1, productos + 1);
+        return """
+                {"clienteId":%d,"vendedorId":%d,"valorVenta":%d.00,"estado":"COMPLETADA",
+                 "detalles":[{"productoId":%d,"cantidad":%d}]}
+                """.formatted(random.nextLong(1, clientes + 1), random.nextLong(1, empleados + 1),
+                random.nextInt(1000, 10000), productoId, random.nextInt(1, 4));
+    }
+}
@@ -0,0 +1,71 @@
+package co.com.api.co.com.api.carga;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+// Usuarios virtuales concurrentes que repiten un request hasta que se acaba el tiempo.
+// Cada usuario espera su respuesta antes de enviar el siguiente (modelo cerrado).
+class GeneradorCarga {
+
+    private final HttpClient httpClient;
+    private final int usuarios;
+
+    GeneradorCarga(HttpClient httpClient, int usuarios) {
+        this.httpClient = httpClient;
+        this.usuarios = usuarios;
+    }
+
+    // Calentamiento sin registrar y luego medición con todos los usuarios virtuales a la vez
+    ResultadoCarga medir(String endpoint, Function<ThreadLocalRandom, HttpRequest> request,
+                         int segundosCalentamiento, int segundosMedicion) throws Exception {
+        ejecutar(request, segundosCalentamiento);
+        ResultadoCarga resultado = ejecutar(request, segundosMedicion);
+        resultado.imprimir(endpoint, usuarios);
+        return resultado;
+    }
+
+    ResultadoCarga ejecutar(Function<ThreadLocalRandom, HttpRequest> request, int segundos) throws Exception {
+        ExecutorService hilos = Executors.newFixedThreadPool(usuarios);
+        long inicio = System.nanoTime();
+        long fin = inicio + Duration.ofSeconds(segundos).toNanos();
+        try {
+            List<Future<ResultadoCarga>> futuros = new ArrayList<>(usuarios);
+            for (int i = 0; i < usuarios; i++) {
+                futuros.add(hilos.submit(() -> usuarioVirtual(request, fin)));
+            }
+            ResultadoCarga total = new ResultadoCarga();
+            for (Future<ResultadoCarga> futuro : futuros) {
+                total.agregar(futuro.get());
+            }
+            total.nanosTotales = System.nanoTime() - inicio;
+            return total;
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+
+    private ResultadoCarga usuarioVirtual(Function<ThreadLocalRandom, HttpRequest> request, long fin) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ResultadoCarga resultado = new ResultadoCarga();
+        while (System.nanoTime() < fin) {
+            HttpRequest siguiente = request.apply(random);
+            long inicio = System.nanoTime();
+            try {
+                HttpResponse<Void> respuesta = httpClient.send(siguiente, HttpResponse.BodyHandlers.discarding());
+                resultado.registrar(System.nanoTime() - inicio, respuesta.statusCode() < 400);
+            } catch (Exception e) {
+                resultado.registrar(System.nanoTime() - inicio, false);
+            }
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,124 @@
+package co.com.api.co.com.api.carga;
+
+import co.com.api.co.com.api.Application;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Compara hilos de plataforma (Tomcat con 200 hilos) contra hilos virtuales con la misma
+// latencia de base de datos, el mismo pool de conexiones y los mismos usuarios virtuales.
+// Levanta la aplicación dos veces, una por modo, y reporta req/s y p99 de cada endpoint.
+//
+// Requiere Java 21 y no corre con mvn test:
+//   mvn -Pjava21,carga test -Dtest=HilosVirtualesCargaTest
+//   mvn -Pjava21,carga test -Dtest=HilosVirtualesCargaTest -Dcarga.latencia-ms=50 -Dcarga.hilos.usuarios=1000
+@Tag("carga")
+class HilosVirtualesCargaTest {
+
+    private static final int LATENCIA_MS = Integer.getInteger("carga.latencia-ms", 20);
+    private static final int USUARIOS_VIRTUALES = Integer.getInteger("carga.hilos.usuarios", 600);
+    // Mayor que los hilos de Tomcat: con hilos de plataforma el límite son los hilos, no el pool
+    private static final int CONEXIONES = Integer.getInteger("carga.hilos.pool", 300);
+    private static final int SEGUNDOS_CALENTAMIENTO = Integer.getInteger("carga.calentamiento", 5);
+    private static final int SEGUNDOS_MEDICION = Integer.getInteger("carga.duracion", 20);
+
+    private static final DatosCarga DATOS = new DatosCarga(10_000, 10_000, 50, 100_000);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void compararHilosDePlataformaYVirtuales() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "Los hilos virtuales requieren Java 21");
+
+        Map<String, ResultadoCarga> plataforma = medirModo(false);
+        Map<String, ResultadoCarga> virtuales = medirModo(true);
+
+        System.out.printf("%nLatencia JDBC %d ms, %d conexiones, %d usuarios virtuales%n",
+                LATENCIA_MS, CONEXIONES, USUARIOS_VIRTUALES);
+        System.out.printf("%-24s %14s %14s %14s %14s%n", "endpoint", "req/s plat.", "req/s virt.", "p99 plat.", "p99 virt.");
+        for (String endpoint : plataforma.keySet()) {
+            ResultadoCarga p = plataforma.get(endpoint);
+            ResultadoCarga v = virtuales.get(endpoint);
+            System.out.printf("%-24s %,14.1f %,14.1f %11.2f ms %11.2f ms%n",
+                    endpoint, p.requestsPorSegundo(), v.requestsPorSegundo(), p.percentil(99), v.percentil(99));
+            verificar(p);
+            verificar(v);
+        }
+    }
+
+    private Map<String, ResultadoCarga> medirModo(boolean hilosVirtuales) throws Exception {
+        String modo = hilosVirtuales ? "virtuales" : "plataforma";
+        // Argumentos de línea de comandos: ganan sobre application-carga.properties
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(Application.class)
+                .profiles("carga")
+                .initializers(aplicacion -> aplicacion.getBeanFactory().addBeanPostProcessor(new LatenciaJdbc(LATENCIA_MS)))
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + hilosVirtuales,
+                        "--spring.datasource.url=jdbc:h2:mem:hilos-" + modo
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=" + CONEXIONES,
+                        "--spring.datasource.hikari.minimum-idle=" + CONEXIONES)) {
+            DATOS.sembrar(contexto.getBean(JdbcTemplate.class));
+            int puerto = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            String token = login(puerto);
+            GeneradorCarga generador = new GeneradorCarga(httpClient, USUARIOS_VIRTUALES);
+
+            Map<String, ResultadoCarga> resultados = new LinkedHashMap<>();
+            resultados.put("GET /api/ventas/{id}", generador.medir("GET /api/ventas/{id} (" + modo + ")",
+                    random -> HttpRequest.newBuilder(uri(puerto, "/api/ventas/" + random.nextInt(1, DATOS.ventas() + 1)))
+                            .header("Authorization", "Bearer " + token)
+                            .GET()
+                            .build(),
+                    SEGUNDOS_CALENTAMIENTO, SEGUNDOS_MEDICION));
+            resultados.put("POST /api/ventas", generador.medir("POST /api/ventas (" + modo + ")",
+                    random -> HttpRequest.newBuilder(uri(puerto, "/api/ventas"))
+                            .header("Authorization", "Bearer " + token)
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(DATOS.cuerpoVenta(random)))
+                            .build(),
+                    SEGUNDOS_CALENTAMIENTO, SEGUNDOS_MEDICION));
+            return resultados;
+        }
+    }
+
+    // El admin lo crea StartupInitializer al arrancar
+    private String login(int puerto) throws Exception {
+        HttpResponse<String> login = httpClient.send(HttpRequest.newBuilder(uri(puerto, "/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"user\":\"admin\",\"password\":\"admin123\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertTrue(login.statusCode() == 200, "Login del admin falló: " + login.statusCode());
+        return objectMapper.readTree(login.body()).get("token").asText();
+    }
+
+    private void verificar(ResultadoCarga resultado) {
+        assertTrue(resultado.cantidad > 0, "No se completó ningún request");
+        assertTrue(resultado.errores <= resultado.cantidad / 100,
+                "Más de 1% de errores: " + resultado.errores + " de " + resultado.cantidad);
+    }
+
+    private URI uri(int puerto, String ruta) {
+        return URI.create("http://localhost:" + puerto + ruta);
+    }
+}
@@ -0,0 +1,79 @@
+package co.com.api.co.com.api.carga;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Envuelve el DataSource para que cada sentencia tarde al menos latenciaMs, como un
+// MySQL en otra máquina. La espera ocurre con la conexión tomada, igual que una consulta
+// real, y fuera de cualquier monitor: un hilo virtual se desmonta mientras duerme.
+class LatenciaJdbc implements BeanPostProcessor {
+
+    private final long latenciaMs;
+
+    LatenciaJdbc(long latenciaMs) {
+        this.latenciaMs = latenciaMs;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof DataSourceLento)) {
+            return new DataSourceLento(dataSource);
+        }
+        return bean;
+    }
+
+    private class DataSourceLento extends DelegatingDataSource {
+
+        DataSourceLento(DataSource destino) {
+            super(destino);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return envolver(Connection.class, super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return envolver(Connection.class, super.getConnection(username, password));
+        }
+    }
+
+    // Connection: envuelve los Statement que crea. Statement: espera antes de cada execute*.
+    private <T> T envolver(Class<T> tipo, T destino) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (destino instanceof Statement && method.getName().startsWith("execute")) {
+                Thread.sleep(latenciaMs);
+            }
+            Object resultado = invocar(destino, method, args);
+            if (destino instanceof Connection && resultado instanceof Statement
+                    && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return envolverStatement(method.getReturnType(), resultado);
+            }
+            return resultado;
+        };
+        return tipo.cast(Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, handler));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Object envolverStatement(Class<T> tipo, Object statement) {
+        return envolver(tipo, (T) statement);
+    }
+
+    private static Object invocar(Object destino, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(destino, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
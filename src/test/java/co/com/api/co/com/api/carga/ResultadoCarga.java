@@ -0,0 +1,51 @@
+package co.com.api.co.com.api.carga;
+
+import java.util.Arrays;
+
+// Latencias de un usuario virtual o la suma de todos
+class ResultadoCarga {
+
+    private long[] latencias = new long[1024];
+    int cantidad;
+    int errores;
+    long nanosTotales;
+
+    void registrar(long nanos, boolean exito) {
+        if (cantidad == latencias.length) {
+            latencias = Arrays.copyOf(latencias, cantidad * 2);
+        }
+        latencias[cantidad++] = nanos;
+        if (!exito) {
+            errores++;
+        }
+    }
+
+    void agregar(ResultadoCarga otro) {
+        for (int i = 0; i < otro.cantidad; i++) {
+            registrar(otro.latencias[i], true);
+        }
+        errores += otro.errores;
+    }
+
+    double requestsPorSegundo() {
+        return nanosTotales > 0 ? cantidad / (nanosTotales / 1e9) : 0;
+    }
+
+    // Rango más cercano, en milisegundos
+    double percentil(int percentil) {
+        if (cantidad == 0) {
+            return 0;
+        }
+        long[] ordenadas = Arrays.copyOf(latencias, cantidad);
+        Arrays.sort(ordenadas);
+        int indice = (int) Math.ceil(percentil / 100.0 * cantidad) - 1;
+        return ordenadas[Math.max(indice, 0)] / 1e6;
+    }
+
+    void imprimir(String endpoint, int usuarios) {
+        System.out.printf("%n%s (%d usuarios virtuales, %.1f s)%n", endpoint, usuarios, nanosTotales / 1e9);
+        System.out.printf("  requests: %,d   errores: %,d   req/s: %,.1f%n", cantidad, errores, requestsPorSegundo());
+        System.out.printf("  p50: %.2f ms   p95: %.2f ms   p99: %.2f ms   max: %.2f ms%n",
+                percentil(50), percentil(95), percentil(99), percentil(100));
+    }
+}
@@ -0,0 +1,165 @@
+package co.com.api.co.com.api.consultas;
+
+import co.com.api.co.com.api.controller.InitController;
+import co.com.api.co.com.api.controller.PermisoController;
+import co.com.api.co.com.api.controller.UsuarioController;
+import co.com.api.co.com.api.domain.roles.Permiso;
+import co.com.api.co.com.api.domain.usuarios.Usuario;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Regresión de las búsquedas que antes hacían findAll() y filtraban en Java. Con cientos
+// de usuarios sembrados, cada camino debe ejecutar un número fijo y pequeño de sentencias:
+// un findAll() con roles EAGER haría una consulta por usuario y rompería los límites.
+@SpringBootTest
+@ActiveProfiles("consultas")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SentenciasPorConsultaTest {
+
+    private static final int USUARIOS = 500;
+
+    @Autowired
+    private UsuarioController usuarioController;
+
+    @Autowired
+    private PermisoController permisoController;
+
+    @Autowired
+    private InitController initController;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estadisticas;
+
+    private record Medicion<T>(T resultado, long sentencias) {}
+
+    @BeforeAll
+    void preparar() {
+        // Permisos, roles y el admin los crea StartupInitializer al arrancar
+        jdbcTemplate.update("""
+                INSERT INTO usuarios (user, password, email, nombre, apellido, activo)
+                SELECT CONCAT('usuario', n), 'x', CONCAT('usuario', n, '@consultas.test'), 'Nombre', 'Apellido',
+                       MOD(n, 2) = 0
+                FROM SYSTEM_RANGE(1, ?) r(n)
+                """, USUARIOS);
+        jdbcTemplate.update("""
+                INSERT INTO usuario_roles (usuario_id, rol_id)
+                SELECT u.id, r.id FROM usuarios u, roles r
+                WHERE u.user LIKE 'usuario%' AND r.nombre = 'VENDEDOR'
+                """);
+
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void usuarioPorNombreDeUsuario() {
+        Medicion<ResponseEntity<Usuario>> medicion = medir(() -> usuarioController.getUsuarioByUser("usuario250"));
+
+        assertEquals(HttpStatus.OK, medicion.resultado().getStatusCode());
+        assertEquals("usuario250", medicion.resultado().getBody().getUser());
+        // Usuario con sus roles + permisos del rol
+        assertTrue(medicion.sentencias() <= 2, "Sentencias: " + medicion.sentencias());
+    }
+
+    @Test
+    void usuariosActivos() {
+        Medicion<ResponseEntity<List<Usuario>>> medicion = medir(() -> usuarioController.getUsuariosActivos());
+
+        Integer activos = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM usuarios WHERE activo", Integer.class);
+        assertEquals(activos, medicion.resultado().getBody().size());
+        // Usuarios con sus roles + permisos de cada rol distinto (hay cuatro roles)
+        assertTrue(medicion.sentencias() <= 5, "Sentencias: " + medicion.sentencias());
+    }
+
+    @Test
+    void crearUsuarioDuplicado() {
+        Usuario duplicado = new Usuario("usuario10", "x", "otro@consultas.test", "Nombre", "Apellido");
+
+        Medicion<ResponseEntity<Usuario>> medicion = medir(() -> usuarioController.createUsuario(duplicado));
+
+        assertEquals(HttpStatus.CONFLICT, medicion.resultado().getStatusCode());
+        // existsByUser
+        assertEquals(1, medicion.sentencias());
+    }
+
+    @Test
+    void crearUsuario() {
+        Usuario nuevo = new Usuario("nuevo", "x", "nuevo@consultas.test", "Nombre", "Apellido");
+
+        Medicion<ResponseEntity<Usuario>> medicion = medir(() -> usuarioController.createUsuario(nuevo));
+
+        assertEquals(HttpStatus.CREATED, medicion.resultado().getStatusCode());
+        // existsByUser + existsByEmail + INSERT
+        assertEquals(3, medicion.sentencias());
+    }
+
+    @Test
+    void permisosPorRecurso() {
+        Medicion<ResponseEntity<List<Permiso>>> medicion = medir(() -> permisoController.getPermisosByRecurso("PRODUCTOS"));
+
+        assertEquals(4, medicion.resultado().getBody().size());
+        assertEquals(1, medicion.sentencias());
+    }
+
+    @Test
+    void permisosPorAccion() {
+        Medicion<ResponseEntity<List<Permiso>>> medicion = medir(() -> permisoController.getPermisosByAccion("leer"));
+
+        assertTrue(medicion.resultado().getBody().stream().allMatch(p -> p.getAccion() == Permiso.Accion.LEER));
+        assertEquals(1, medicion.sentencias());
+    }
+
+    @Test
+    void inicializacionYaHecha() {
+        // Cada verificación lee como máximo una fila
+        assertEquals(1, medir(() -> initController.initPermisos()).sentencias());
+        assertEquals(1, medir(() -> initController.initRoles()).sentencias());
+        assertEquals(1, medir(() -> initController.createAdminUser()).sentencias());
+    }
+
+    @Test
+    void estadoDelSistema() {
+        Medicion<ResponseEntity<String>> medicion = medir(() -> initController.getSystemStatus());
+
+        assertTrue(medicion.resultado().getBody().contains("Sistema: INICIALIZADO"));
+        // Un COUNT por tabla
+        assertEquals(3, medicion.sentencias());
+    }
+
+    @Test
+    void resetearAdmin() {
+        Medicion<ResponseEntity<String>> medicion = medir(() -> initController.resetAdminPassword());
+
+        assertEquals(HttpStatus.OK, medicion.resultado().getStatusCode());
+        // findByUser y el merge de save(): lecturas del admin y su rol, UPDATE y reescritura de
+        // usuario_roles. No depende de la cantidad de usuarios.
+        assertTrue(medicion.sentencias() <= 8, "Sentencias: " + medicion.sentencias());
+    }
+
+    private <T> Medicion<T> medir(Supplier<T> accion) {
+        estadisticas.clear();
+        T resultado = accion.get();
+        return new Medicion<>(resultado, estadisticas.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,153 @@
+package co.com.api.co.com.api.domain.contabilidad;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// El resumen mensual se ajusta con el upsert en cada alta, cambio y baja, sin recorrer
+// contabilidad. Cada prueba usa un año distinto para no sumar sobre los meses de otra.
+// Base H2 propia para no compartir esquema con otras pruebas.
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:resumen;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("consultas")
+class ResumenContableServiceTest {
+
+    @Autowired
+    private ResumenContableService resumenContableService;
+
+    @Autowired
+    private ResumenContableMensualRepository resumenRepository;
+
+    @Autowired
+    private ContabilidadRepository contabilidadRepository;
+
+    @Test
+    void registrarSumaAlMesDelMovimiento() {
+        resumenContableService.registrar(ingreso("1000.00", LocalDate.of(2001, 3, 5)));
+        resumenContableService.registrar(ingreso("500.00", LocalDate.of(2001, 3, 20)));
+        resumenContableService.registrar(gasto("300.00", LocalDate.of(2001, 3, 31)));
+
+        ResumenContableMensual marzo = resumen(200103);
+        assertMonto("1500.00", marzo.getTotalIngresos());
+        assertMonto("300.00", marzo.getTotalGastos());
+        assertEquals(2, marzo.getCantidadIngresos());
+        assertEquals(1, marzo.getCantidadGastos());
+    }
+
+    @Test
+    void actualizarRestaElAporteAnteriorYSumaElNuevo() {
+        Contabilidad movimiento = resumenContableService.registrar(ingreso("1000.00", LocalDate.of(2002, 1, 15)));
+
+        resumenContableService.actualizar(movimiento.getId(), contabilidad -> contabilidad.setIngresos(new BigDecimal("1200.00")));
+
+        ResumenContableMensual enero = resumen(200201);
+        assertMonto("1200.00", enero.getTotalIngresos());
+        assertEquals(1, enero.getCantidadIngresos());
+    }
+
+    @Test
+    void actualizarPuedeMoverElMovimientoDeMesYDeTipo() {
+        Contabilidad movimiento = resumenContableService.registrar(ingreso("1000.00", LocalDate.of(2003, 1, 31)));
+
+        resumenContableService.actualizar(movimiento.getId(), contabilidad -> {
+            contabilidad.setFecha(LocalDate.of(2003, 2, 1));
+            contabilidad.setIngresos(BigDecimal.ZERO);
+            contabilidad.setGastos(new BigDecimal("250.00"));
+            contabilidad.setTipoMovimiento(Contabilidad.TipoMovimiento.GASTO);
+        });
+
+        ResumenContableMensual enero = resumen(200301);
+        assertMonto("0", enero.getTotalIngresos());
+        assertEquals(0, enero.getCantidadIngresos());
+
+        ResumenContableMensual febrero = resumen(200302);
+        assertMonto("0", febrero.getTotalIngresos());
+        assertMonto("250.00", febrero.getTotalGastos());
+        assertEquals(0, febrero.getCantidadIngresos());
+        assertEquals(1, febrero.getCantidadGastos());
+    }
+
+    @Test
+    void eliminarRestaElAporteDelMovimiento() {
+        Contabilidad primero = resumenContableService.registrar(gasto("400.00", LocalDate.of(2004, 6, 10)));
+        resumenContableService.registrar(gasto("100.00", LocalDate.of(2004, 6, 11)));
+
+        assertTrue(resumenContableService.eliminar(primero.getId()));
+
+        ResumenContableMensual junio = resumen(200406);
+        assertMonto("100.00", junio.getTotalGastos());
+        assertEquals(1, junio.getCantidadGastos());
+    }
+
+    @Test
+    void cambiosSimultaneosDelMismoMovimientoNoDesvianElResumen() throws Exception {
+        Long id = resumenContableService.registrar(ingreso("1000.00", LocalDate.of(2005, 9, 1))).getId();
+        CountDownLatch primeroLeyo = new CountDownLatch(1);
+
+        CompletableFuture<Void> primero = CompletableFuture.runAsync(() ->
+                resumenContableService.actualizar(id, contabilidad -> {
+                    primeroLeyo.countDown();
+                    // Da tiempo a que el segundo cambio llegue a su lectura
+                    esperar(300);
+                    contabilidad.setIngresos(new BigDecimal("2000.00"));
+                }));
+        primeroLeyo.await();
+        CompletableFuture<Void> segundo = CompletableFuture.runAsync(() ->
+                resumenContableService.actualizar(id, contabilidad ->
+                        contabilidad.setIngresos(contabilidad.getIngresos().add(new BigDecimal("500.00")))));
+        primero.get(10, TimeUnit.SECONDS);
+        segundo.get(10, TimeUnit.SECONDS);
+
+        // El segundo leyó lo que guardó el primero: 2000 + 500, y el mes suma solo eso
+        BigDecimal guardado = contabilidadRepository.findById(id).orElseThrow().getIngresos();
+        assertMonto("2500.00", guardado);
+        ResumenContableMensual septiembre = resumen(200509);
+        assertMonto("2500.00", septiembre.getTotalIngresos());
+        assertEquals(1, septiembre.getCantidadIngresos());
+    }
+
+    @Test
+    void cambiosSobreMovimientoInexistenteNoTocanElResumen() {
+        long filas = resumenRepository.count();
+
+        assertTrue(resumenContableService.actualizar(-1L, contabilidad -> {}).isEmpty());
+        assertFalse(resumenContableService.eliminar(-1L));
+
+        assertEquals(filas, resumenRepository.count());
+    }
+
+    private static void esperar(long milisegundos) {
+        try {
+            Thread.sleep(milisegundos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ResumenContableMensual resumen(int periodo) {
+        return resumenRepository.findById(periodo).orElseThrow();
+    }
+
+    private static Contabilidad ingreso(String monto, LocalDate fecha) {
+        return new Contabilidad(BigDecimal.ZERO, new BigDecimal(monto), fecha, "Ingreso", Contabilidad.TipoMovimiento.INGRESO);
+    }
+
+    private static Contabilidad gasto(String monto, LocalDate fecha) {
+        return new Contabilidad(new BigDecimal(monto), BigDecimal.ZERO, fecha, "Gasto", Contabilidad.TipoMovimiento.GASTO);
+    }
+
+    private static void assertMonto(String esperado, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(esperado).compareTo(actual), "Esperado " + esperado + " y fue " + actual);
+    }
+}
@@ -0,0 +1,186 @@
+package co.com.api.co.com.api.domain.inventario;
+
+import co.com.api.co.com.api.controller.InventarioController;
+import co.com.api.co.com.api.domain.empleados.Empleado;
+import co.com.api.co.com.api.domain.empleados.EmpleadoRepository;
+import co.com.api.co.com.api.domain.productos.Producto;
+import co.com.api.co.com.api.domain.productos.ProductoRepository;
+import co.com.api.co.com.api.dto.CreateInventarioRequest;
+import co.com.api.co.com.api.dto.LineaProductoRequest;
+import co.com.api.co.com.api.dto.UpdateInventarioRequest;
+import co.com.api.co.com.api.dto.UpdateInventarioRequest.Referencia;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Líneas de inventario con cantidad: alta atómica, upsert, resta condicional, borrado
+// al llegar a cero y reemplazo de líneas por PUT. Base H2 propia.
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:inventario;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("consultas")
+class InventarioLineasTest {
+
+    @Autowired
+    private InventarioController inventarioController;
+
+    @Autowired
+    private InventarioLineasService inventarioLineasService;
+
+    @Autowired
+    private InventarioRepository inventarioRepository;
+
+    @Autowired
+    private InventarioLineaRepository inventarioLineaRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Empleado responsable;
+    private List<Producto> productos;
+
+    @BeforeEach
+    void preparar() {
+        String sufijo = String.valueOf(System.nanoTime());
+        responsable = empleadoRepository.save(new Empleado("Bodeguero " + sufijo, "E" + sufijo, 30, "3100000000",
+                "bodeguero" + sufijo + "@inventario.test", LocalDate.now()));
+        productos = List.of(crear("Arroz " + sufijo), crear("Frijol " + sufijo), crear("Panela " + sufijo));
+    }
+
+    @Test
+    void crearSumaProductoIdsYLineasDelMismoProducto() {
+        Long inventarioId = crearInventario(List.of(id(0), id(0), id(1)), List.of(new LineaProductoRequest(id(0), 5)));
+
+        assertEquals(Map.of(id(0), 7, id(1), 1), cantidades(inventarioId));
+    }
+
+    @Test
+    void crearConUnaLineaFallidaNoDejaElInventario() {
+        long antes = inventarioRepository.count();
+        Inventario inventario = new Inventario(responsable, LocalDateTime.now(), "Incompleto");
+        Map<Long, Integer> cantidades = new LinkedHashMap<>();
+        cantidades.put(id(0), 3);
+        cantidades.put(Long.MAX_VALUE, 1);
+
+        // El producto inexistente rompe la llave foránea después de guardar el inventario
+        assertThrows(Exception.class, () -> inventarioLineasService.crear(inventario, cantidades));
+
+        assertEquals(antes, inventarioRepository.count());
+    }
+
+    @Test
+    void agregarSumaSobreLaLineaExistente() {
+        Long inventarioId = crearInventario(List.of(), List.of());
+
+        assertEquals(4, inventarioController.agregarProducto(inventarioId, id(0), 4).getBody().cantidad());
+        assertEquals(10, inventarioController.agregarProducto(inventarioId, id(0), 6).getBody().cantidad());
+        assertEquals(Map.of(id(0), 10), cantidades(inventarioId));
+        assertEquals(HttpStatus.NOT_FOUND, inventarioController.agregarProducto(Long.MAX_VALUE, id(0), 1).getStatusCode());
+    }
+
+    @Test
+    void removerRestaSoloSiAlcanzaYBorraLaLineaEnCero() {
+        Long inventarioId = crearInventario(List.of(), List.of(new LineaProductoRequest(id(0), 5)));
+
+        ResponseEntity<InventarioLineaDetalle> restada = inventarioController.removerProducto(inventarioId, id(0), 2);
+        assertEquals(HttpStatus.OK, restada.getStatusCode());
+        assertEquals(3, restada.getBody().cantidad());
+
+        // No alcanza: la línea queda intacta
+        assertEquals(HttpStatus.CONFLICT, inventarioController.removerProducto(inventarioId, id(0), 4).getStatusCode());
+        assertEquals(Map.of(id(0), 3), cantidades(inventarioId));
+
+        assertEquals(HttpStatus.NO_CONTENT, inventarioController.removerProducto(inventarioId, id(0), 3).getStatusCode());
+        assertFalse(inventarioLineaRepository.existsById(new InventarioLineaId(inventarioId, id(0))));
+        assertEquals(HttpStatus.NOT_FOUND, inventarioController.removerProducto(inventarioId, id(0), 1).getStatusCode());
+    }
+
+    @Test
+    void removerSinCantidadQuitaLaLineaCompleta() {
+        Long inventarioId = crearInventario(List.of(), List.of(new LineaProductoRequest(id(0), 5),
+                new LineaProductoRequest(id(1), 2)));
+
+        assertEquals(HttpStatus.NO_CONTENT, inventarioController.removerProducto(inventarioId, id(0), null).getStatusCode());
+        assertEquals(Map.of(id(1), 2), cantidades(inventarioId));
+        assertEquals(HttpStatus.NOT_FOUND, inventarioController.removerProducto(inventarioId, id(0), null).getStatusCode());
+    }
+
+    @Test
+    void putConProductosReemplazaLasLineasYSinProductosLasConserva() {
+        Long inventarioId = crearInventario(List.of(), List.of(new LineaProductoRequest(id(0), 5),
+                new LineaProductoRequest(id(1), 2)));
+
+        ResponseEntity<Inventario> soloDescripcion = inventarioController.updateInventario(inventarioId,
+                new UpdateInventarioRequest(null, "Solo descripción", null, null));
+        assertEquals(HttpStatus.OK, soloDescripcion.getStatusCode());
+        assertEquals(Map.of(id(0), 5, id(1), 2), cantidades(inventarioId));
+
+        ResponseEntity<Inventario> reemplazado = inventarioController.updateInventario(inventarioId,
+                new UpdateInventarioRequest(new Referencia(responsable.getId()), "Reemplazado",
+                        List.of(new Referencia(id(2))), List.of(new LineaProductoRequest(id(1), 4))));
+        assertEquals(HttpStatus.OK, reemplazado.getStatusCode());
+        assertEquals(Map.of(id(1), 4, id(2), 1), cantidades(inventarioId));
+
+        // Un producto inexistente rechaza el PUT sin tocar las líneas
+        assertEquals(HttpStatus.BAD_REQUEST, inventarioController.updateInventario(inventarioId,
+                new UpdateInventarioRequest(null, "Inválido", List.of(new Referencia(Long.MAX_VALUE)), null))
+                .getStatusCode());
+        assertEquals(Map.of(id(1), 4, id(2), 1), cantidades(inventarioId));
+    }
+
+    @Test
+    void laRespuestaDelInventarioNoIncluyeProductos() throws Exception {
+        Long inventarioId = crearInventario(List.of(id(0)), List.of());
+
+        String json = objectMapper.writeValueAsString(inventarioController.getInventarioById(inventarioId).getBody());
+
+        assertTrue(json.contains("\"descripcion\""));
+        assertFalse(json.contains("\"productos\""));
+    }
+
+    private Long crearInventario(List<Long> productoIds, List<LineaProductoRequest> lineas) {
+        ResponseEntity<Inventario> creado = inventarioController.createInventario(
+                new CreateInventarioRequest(responsable.getId(), "Bodega", productoIds, lineas));
+        assertEquals(HttpStatus.CREATED, creado.getStatusCode());
+        return creado.getBody().getId();
+    }
+
+    private Map<Long, Integer> cantidades(Long inventarioId) {
+        Map<Long, Integer> cantidades = new LinkedHashMap<>();
+        inventarioLineaRepository.findDetalles(inventarioId, 0L, Limit.of(100))
+                .forEach(linea -> cantidades.put(linea.productoId(), linea.cantidad()));
+        return cantidades;
+    }
+
+    private Long id(int indice) {
+        return productos.get(indice).getId();
+    }
+
+    private Producto crear(String nombre) {
+        return productoRepository.save(new Producto(nombre, LocalDate.now().plusYears(1),
+                LocalDate.now().plusYears(1), "Granos", 100, new BigDecimal("1000.00")));
+    }
+}
@@ -0,0 +1,81 @@
+package co.com.api.co.com.api.domain.productos;
+
+import co.com.api.co.com.api.dto.FacetaCategoria;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Totales por categoría mantenidos con ProductoModificadoEvent, sin base de datos
+class FacetasCategoriaTest {
+
+    private final FacetasCategoria facetas = new FacetasCategoria();
+
+    @Test
+    void sumaProductosStockYValorPorCategoria() {
+        facetas.alModificarProducto(guardado(1L, "Bebidas", 5, 0));
+        facetas.alModificarProducto(guardado(2L, "Bebidas", 3, 0));
+        facetas.alModificarProducto(guardado(3L, "Granos", 7, 0));
+
+        FacetaCategoria bebidas = facetas.obtener("Bebidas");
+        assertEquals(2, bebidas.productos());
+        assertEquals(8, bebidas.stockTotal());
+        assertEquals(0, new BigDecimal("80").compareTo(bebidas.valorStock()));
+        assertEquals(List.of("Bebidas", "Granos"), facetas.listar().stream().map(FacetaCategoria::categoria).toList());
+    }
+
+    @Test
+    void cambioDeCategoriaMueveElAporte() {
+        facetas.alModificarProducto(guardado(1L, "Bebidas", 5, 0));
+        facetas.alModificarProducto(guardado(2L, "Bebidas", 3, 0));
+        facetas.alModificarProducto(guardado(1L, "Granos", 4, 1));
+
+        FacetaCategoria bebidas = facetas.obtener("Bebidas");
+        assertEquals(1, bebidas.productos());
+        assertEquals(3, bebidas.stockTotal());
+        FacetaCategoria granos = facetas.obtener("Granos");
+        assertEquals(1, granos.productos());
+        assertEquals(4, granos.stockTotal());
+        assertEquals(0, new BigDecimal("40").compareTo(granos.valorStock()));
+    }
+
+    @Test
+    void eliminarElUltimoProductoQuitaLaCategoria() {
+        facetas.alModificarProducto(guardado(1L, "Bebidas", 5, 0));
+        facetas.alModificarProducto(guardado(2L, "Granos", 7, 0));
+
+        facetas.alModificarProducto(ProductoModificadoEvent.eliminado(1L));
+
+        assertNull(facetas.obtener("Bebidas"));
+        assertEquals(1, facetas.listar().size());
+    }
+
+    @Test
+    void eventoAtrasadoNoPisaUnEstadoMasReciente() {
+        facetas.alModificarProducto(guardado(1L, "Bebidas", 5, 2));
+        // La transacción de la versión 1 confirmó antes pero su evento llega después
+        facetas.alModificarProducto(guardado(1L, "Bebidas", 8, 1));
+
+        FacetaCategoria bebidas = facetas.obtener("Bebidas");
+        assertEquals(1, bebidas.productos());
+        assertEquals(5, bebidas.stockTotal());
+        assertEquals(0, new BigDecimal("50").compareTo(bebidas.valorStock()));
+    }
+
+    @Test
+    void guardadoAtrasadoNoReviveProductoEliminado() {
+        facetas.alModificarProducto(guardado(1L, "Bebidas", 5, 0));
+        facetas.alModificarProducto(ProductoModificadoEvent.eliminado(1L));
+        facetas.alModificarProducto(guardado(1L, "Bebidas", 4, 1));
+
+        assertNull(facetas.obtener("Bebidas"));
+    }
+
+    static ProductoModificadoEvent guardado(Long id, String categoria, int stock, long version) {
+        return new ProductoModificadoEvent(id, new ProductoEstado(
+                id, "Producto " + id, categoria, stock, BigDecimal.TEN, null, version));
+    }
+}
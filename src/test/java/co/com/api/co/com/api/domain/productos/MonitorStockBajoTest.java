@@ -0,0 +1,103 @@
+package co.com.api.co.com.api.domain.productos;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Índice por stock y alertas de umbral mantenidos con ProductoModificadoEvent, sin base de datos
+class MonitorStockBajoTest {
+
+    private static final int UMBRAL = 10;
+
+    private final MonitorStockBajo monitor = new MonitorStockBajo();
+
+    private final List<Object> publicados = new ArrayList<>();
+
+    @BeforeEach
+    void preparar() {
+        ReflectionTestUtils.setField(monitor, "eventPublisher", (ApplicationEventPublisher) publicados::add);
+        ReflectionTestUtils.setField(monitor, "umbral", UMBRAL);
+    }
+
+    @Test
+    void avisaAlCruzarElUmbralEnAmbosSentidos() {
+        monitor.alModificarProducto(guardado(1L, 12, 0));
+        monitor.alModificarProducto(guardado(1L, 9, 1));
+        // Sigue debajo: no se repite el aviso
+        monitor.alModificarProducto(guardado(1L, 4, 2));
+        // Alcanzar el umbral ya es recuperarse
+        monitor.alModificarProducto(guardado(1L, UMBRAL, 3));
+        monitor.alModificarProducto(guardado(1L, 30, 4));
+
+        assertEquals(List.of(AlertaStockBajo.Tipo.BAJO, AlertaStockBajo.Tipo.RECUPERADO), tipos());
+        AlertaStockBajo recuperado = (AlertaStockBajo) publicados.get(1);
+        assertEquals(UMBRAL, recuperado.producto().stock());
+        assertEquals(UMBRAL, recuperado.umbral());
+    }
+
+    @Test
+    void productoNuevoAvisaSoloSiNaceDebajoDelUmbral() {
+        monitor.alModificarProducto(guardado(1L, 50, 0));
+        monitor.alModificarProducto(guardado(2L, 2, 0));
+
+        assertEquals(List.of(AlertaStockBajo.Tipo.BAJO), tipos());
+        assertEquals(2L, ((AlertaStockBajo) publicados.get(0)).producto().id());
+    }
+
+    @Test
+    void listaDebajoDeUnStockOrdenadoDeMenorAMayor() {
+        monitor.alModificarProducto(guardado(1L, 8, 0));
+        monitor.alModificarProducto(guardado(2L, 3, 0));
+        monitor.alModificarProducto(guardado(3L, 15, 0));
+        monitor.alModificarProducto(guardado(4L, 3, 0));
+
+        assertEquals(List.of(2L, 4L, 1L), monitor.debajoDelUmbral().stream().map(ProductoEstado::id).toList());
+        assertEquals(List.of(3, 3, 8, 15), stocks(monitor.debajoDe(16)));
+        assertTrue(monitor.debajoDe(3).isEmpty());
+
+        monitor.alModificarProducto(ProductoModificadoEvent.eliminado(2L));
+        assertEquals(List.of(4L, 1L), monitor.debajoDelUmbral().stream().map(ProductoEstado::id).toList());
+    }
+
+    @Test
+    void eventoAtrasadoNoPisaElStockNiAvisa() {
+        monitor.alModificarProducto(guardado(1L, 20, 0));
+        monitor.alModificarProducto(guardado(1L, 5, 2));
+        // La versión 1 confirmó antes que la 2 pero su evento llega después
+        monitor.alModificarProducto(guardado(1L, 15, 1));
+
+        assertEquals(List.of(5), stocks(monitor.debajoDelUmbral()));
+        assertEquals(List.of(AlertaStockBajo.Tipo.BAJO), tipos());
+    }
+
+    @Test
+    void guardadoAtrasadoNoVuelveAIndexarProductoEliminado() {
+        monitor.alModificarProducto(guardado(1L, 20, 0));
+        monitor.alModificarProducto(ProductoModificadoEvent.eliminado(1L));
+        monitor.alModificarProducto(guardado(1L, 3, 1));
+
+        assertTrue(monitor.debajoDe(Integer.MAX_VALUE).isEmpty());
+        assertTrue(publicados.isEmpty());
+    }
+
+    private List<AlertaStockBajo.Tipo> tipos() {
+        return publicados.stream().map(evento -> ((AlertaStockBajo) evento).tipo()).toList();
+    }
+
+    private static List<Integer> stocks(List<ProductoEstado> productos) {
+        return productos.stream().map(ProductoEstado::stock).toList();
+    }
+
+    static ProductoModificadoEvent guardado(Long id, int stock, long version) {
+        return new ProductoModificadoEvent(id, new ProductoEstado(
+                id, "Producto " + id, "Bebidas", stock, BigDecimal.TEN, null, version));
+    }
+}
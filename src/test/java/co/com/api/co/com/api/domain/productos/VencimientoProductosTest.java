@@ -0,0 +1,137 @@
+package co.com.api.co.com.api.domain.productos;
+
+import co.com.api.co.com.api.domain.productos.Producto.EstadoVencimiento;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+// Cambios de estado de medianoche y listado de próximos a vencer, con el día fijado
+// por la prueba. Con 30 días de aviso, un producto que vence el día D pasa a
+// POR_VENCER el día D - 29 y a VENCIDO el día D + 1.
+class VencimientoProductosTest {
+
+    private static final LocalDate VENCE = LocalDate.of(2030, 6, 30);
+
+    private final ProductoRepository productoRepository = mock(ProductoRepository.class);
+
+    private LocalDate hoy;
+
+    private final VencimientoProductos vencimientos = new VencimientoProductos() {
+        @Override
+        LocalDate hoy() {
+            return hoy;
+        }
+    };
+
+    @BeforeEach
+    void preparar() {
+        ReflectionTestUtils.setField(vencimientos, "productoRepository", productoRepository);
+        ReflectionTestUtils.setField(vencimientos, "diasAviso", 30);
+        ReflectionTestUtils.setField(vencimientos, "zona", ZoneId.of("America/Bogota"));
+    }
+
+    @Test
+    void estadoParaRespetaLosBordesDelAviso() {
+        hoy = VENCE.minusDays(30);
+        assertEquals(EstadoVencimiento.VIGENTE, vencimientos.estadoPara(VENCE));
+        hoy = VENCE.minusDays(29);
+        assertEquals(EstadoVencimiento.POR_VENCER, vencimientos.estadoPara(VENCE));
+        hoy = VENCE;
+        assertEquals(EstadoVencimiento.POR_VENCER, vencimientos.estadoPara(VENCE));
+        hoy = VENCE.plusDays(1);
+        assertEquals(EstadoVencimiento.VENCIDO, vencimientos.estadoPara(VENCE));
+        assertEquals(EstadoVencimiento.VIGENTE, vencimientos.estadoPara(null));
+    }
+
+    @Test
+    void cadaMedianocheGuardaSoloLosCambiosQueVencen() {
+        hoy = VENCE.minusDays(31);
+        vencimientos.alModificarProducto(guardado(1L, VENCE));
+
+        procesarEl(VENCE.minusDays(30));
+        verify(productoRepository, never()).actualizarEstadoVencimiento(anyCollection(), any());
+
+        procesarEl(VENCE.minusDays(29));
+        verify(productoRepository).actualizarEstadoVencimiento(List.of(1L), EstadoVencimiento.POR_VENCER);
+
+        // Ya aplicado: el mismo día y el día del vencimiento no repiten el cambio
+        clearInvocations(productoRepository);
+        procesarEl(VENCE.minusDays(29));
+        procesarEl(VENCE);
+        verify(productoRepository, never()).actualizarEstadoVencimiento(anyCollection(), any());
+
+        procesarEl(VENCE.plusDays(1));
+        verify(productoRepository).actualizarEstadoVencimiento(List.of(1L), EstadoVencimiento.VENCIDO);
+
+        clearInvocations(productoRepository);
+        procesarEl(VENCE.plusDays(2));
+        verify(productoRepository, never()).actualizarEstadoVencimiento(anyCollection(), any());
+    }
+
+    @Test
+    void trasDiasSinProcesarPasaDirectoAlEstadoDeHoy() {
+        hoy = VENCE.minusDays(31);
+        vencimientos.alModificarProducto(guardado(1L, VENCE));
+
+        procesarEl(VENCE.plusDays(5));
+
+        verify(productoRepository).actualizarEstadoVencimiento(List.of(1L), EstadoVencimiento.VENCIDO);
+        verify(productoRepository, never()).actualizarEstadoVencimiento(anyCollection(), eq(EstadoVencimiento.POR_VENCER));
+    }
+
+    @Test
+    void cambiarOQuitarLaFechaReprogramaElCambio() {
+        hoy = VENCE.minusDays(31);
+        vencimientos.alModificarProducto(guardado(1L, VENCE));
+        vencimientos.alModificarProducto(guardado(2L, VENCE));
+        // El producto 1 ahora vence un año después y el 2 se elimina
+        vencimientos.alModificarProducto(guardado(1L, VENCE.plusYears(1)));
+        vencimientos.alModificarProducto(ProductoModificadoEvent.eliminado(2L));
+
+        procesarEl(VENCE.plusDays(1));
+
+        verify(productoRepository, never()).actualizarEstadoVencimiento(anyCollection(), any());
+    }
+
+    @Test
+    void porVencerPaginaPorFechaEIdConCursor() {
+        hoy = VENCE;
+        vencimientos.alModificarProducto(guardado(1L, VENCE.plusDays(10)));
+        vencimientos.alModificarProducto(guardado(2L, VENCE.plusDays(3)));
+        vencimientos.alModificarProducto(guardado(3L, VENCE.plusDays(3)));
+        vencimientos.alModificarProducto(guardado(4L, VENCE.minusDays(1)));
+        vencimientos.alModificarProducto(guardado(5L, VENCE.plusDays(40)));
+        vencimientos.alModificarProducto(guardado(6L, VENCE));
+
+        assertEquals(List.of(6L, 2L), vencimientos.porVencer(30, null, 2));
+        assertEquals(List.of(3L, 1L), vencimientos.porVencer(30, 2L, 2));
+        assertEquals(List.of(), vencimientos.porVencer(30, 1L, 2));
+        // Un cursor ya vencido o desconocido vuelve a empezar desde hoy
+        assertEquals(List.of(6L), vencimientos.porVencer(30, 4L, 1));
+        assertEquals(List.of(6L, 2L, 3L), vencimientos.porVencer(3, null, 10));
+    }
+
+    private void procesarEl(LocalDate dia) {
+        hoy = dia;
+        vencimientos.procesarVencimientos();
+    }
+
+    private static ProductoModificadoEvent guardado(Long id, LocalDate fechaVencimiento) {
+        return new ProductoModificadoEvent(id, new ProductoEstado(
+                id, "Producto " + id, "Lacteos", 10, BigDecimal.ONE, fechaVencimiento, 0L));
+    }
+}
@@ -0,0 +1,147 @@
+package co.com.api.co.com.api.domain.ventas;
+
+import co.com.api.co.com.api.domain.clientes.Cliente;
+import co.com.api.co.com.api.domain.clientes.ClienteRepository;
+import co.com.api.co.com.api.domain.empleados.Empleado;
+import co.com.api.co.com.api.domain.empleados.EmpleadoRepository;
+import co.com.api.co.com.api.domain.productos.Producto;
+import co.com.api.co.com.api.domain.productos.ProductoRepository;
+import co.com.api.co.com.api.dto.CargaVentasResponse;
+import co.com.api.co.com.api.dto.CreateVentaRequest;
+import co.com.api.co.com.api.dto.ErrorCargaVenta;
+import co.com.api.co.com.api.dto.LineaProductoRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+// Carga masiva cuando otra venta consume stock entre la lectura de productos y el
+// descuento: solo las filas que ya no alcanzan se reportan, las demás se guardan.
+// Base H2 propia para no compartir esquema con otras pruebas.
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:carga;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("consultas")
+class CargaVentasServiceTest {
+
+    @Autowired
+    private CargaVentasService cargaVentasService;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private DetalleVentaRepository detalleVentaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Cliente cliente;
+    private Empleado vendedor;
+    private Producto arroz;
+    private Producto frijol;
+
+    @BeforeEach
+    void preparar() {
+        String sufijo = String.valueOf(System.nanoTime());
+        cliente = clienteRepository.save(new Cliente("Cliente " + sufijo, "C" + sufijo, "3100000000",
+                "cliente" + sufijo + "@carga.test", "Calle 1"));
+        vendedor = empleadoRepository.save(new Empleado("Vendedor " + sufijo, "E" + sufijo, 30, "3100000000",
+                "vendedor" + sufijo + "@carga.test", LocalDate.now()));
+        arroz = crear("Arroz " + sufijo, 10);
+        frijol = crear("Frijol " + sufijo, 10);
+    }
+
+    @AfterEach
+    void restaurar() {
+        usarRepositorio(productoRepository);
+    }
+
+    @Test
+    void stockConsumidoDuranteLaCargaSoloRechazaLasFilasQueNoAlcanzan() {
+        // Otra venta deja el arroz en 5 justo después de que la carga leyó 10
+        consumirDuranteLaCarga(arroz.getId(), 5);
+
+        CargaVentasResponse resultado = cargaVentasService.cargar(List.of(
+                venta(Map.of(arroz.getId(), 4, frijol.getId(), 1)),
+                venta(Map.of(arroz.getId(), 4, frijol.getId(), 1)),
+                venta(Map.of(frijol.getId(), 2))));
+
+        assertEquals(2, resultado.creadas());
+        assertEquals(List.of(new ErrorCargaVenta(1, "Stock insuficiente para productos: [" + arroz.getId() + "]")),
+                resultado.errores());
+        assertEquals(1, stock(arroz.getId()));
+        // La fila rechazada devuelve la unidad de frijol que ya se había descontado
+        assertEquals(7, stock(frijol.getId()));
+        assertEquals(3, resultado.ventaIds().stream()
+                .mapToInt(ventaId -> detalleVentaRepository.findByVentaId(ventaId).size())
+                .sum());
+    }
+
+    @Test
+    void sinCarreraDescuentaTodoEnUnSoloPaso() {
+        CargaVentasResponse resultado = cargaVentasService.cargar(List.of(
+                venta(Map.of(arroz.getId(), 4)),
+                venta(Map.of(arroz.getId(), 6, frijol.getId(), 3))));
+
+        assertEquals(2, resultado.creadas());
+        assertEquals(List.of(), resultado.errores());
+        assertEquals(0, stock(arroz.getId()));
+        assertEquals(7, stock(frijol.getId()));
+    }
+
+    private void consumirDuranteLaCarga(Long productoId, int stockRestante) {
+        ProductoRepository conCarrera = mock(ProductoRepository.class, delegatesTo(productoRepository));
+        doAnswer(invocacion -> {
+            List<Producto> leidos = productoRepository.findAllById(invocacion.getArgument(0));
+            jdbcTemplate.update("UPDATE productos SET stock = ?, version = version + 1 WHERE id = ?",
+                    stockRestante, productoId);
+            return leidos;
+        }).when(conCarrera).findAllById(any());
+        usarRepositorio(conCarrera);
+    }
+
+    // Se reemplaza en el objeto detrás del proxy para conservar su @Transactional
+    private void usarRepositorio(ProductoRepository repositorio) {
+        CargaVentasService servicio = AopTestUtils.getTargetObject(cargaVentasService);
+        ReflectionTestUtils.setField(servicio, "productoRepository", repositorio);
+    }
+
+    private CreateVentaRequest venta(Map<Long, Integer> cantidades) {
+        List<LineaProductoRequest> detalles = cantidades.entrySet().stream()
+                .map(linea -> new LineaProductoRequest(linea.getKey(), linea.getValue()))
+                .toList();
+        return new CreateVentaRequest(cliente.getId(), vendedor.getId(), null, LocalDate.now(),
+                new BigDecimal("10000.00"), null, "COMPLETADA", detalles);
+    }
+
+    private int stock(Long productoId) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM productos WHERE id = ?", Integer.class, productoId);
+    }
+
+    private Producto crear(String nombre, int stock) {
+        return productoRepository.save(new Producto(nombre, LocalDate.now().plusYears(1),
+                LocalDate.now().plusYears(1), "Granos", stock, new BigDecimal("1000.00")));
+    }
+}
@@ -0,0 +1,73 @@
+package co.com.api.co.com.api.domain.ventas;
+
+import co.com.api.co.com.api.domain.productos.Producto;
+import co.com.api.co.com.api.domain.productos.ProductoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Descuento de stock con UPDATE condicional: o se descuentan todas las líneas o ninguna.
+// Base H2 propia para no compartir esquema con otras pruebas.
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:ledger;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("consultas")
+class StockLedgerServiceTest {
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Test
+    void descuentaTodasLasLineasYSubeLaVersion() {
+        Producto arroz = crear("Arroz ledger", 10);
+        Producto frijol = crear("Frijol ledger", 4);
+
+        stockLedgerService.descontarStock(Map.of(arroz.getId(), 3, frijol.getId(), 4));
+
+        Producto arrozGuardado = productoRepository.findById(arroz.getId()).orElseThrow();
+        assertEquals(7, arrozGuardado.getStock());
+        assertEquals(arroz.getVersion() + 1, arrozGuardado.getVersion());
+        assertEquals(0, productoRepository.findById(frijol.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void stockInsuficienteRechazaLaLineaYRevierteLasDemas() {
+        Producto arroz = crear("Arroz sin stock", 10);
+        Producto frijol = crear("Frijol sin stock", 2);
+
+        StockInsuficienteException error = assertThrows(StockInsuficienteException.class,
+                () -> stockLedgerService.descontarStock(Map.of(arroz.getId(), 3, frijol.getId(), 5)));
+
+        assertEquals(List.of(frijol.getId()), error.getProductoIds());
+        // El UPDATE del arroz sí encontró stock, pero la transacción se revierte completa
+        assertEquals(10, productoRepository.findById(arroz.getId()).orElseThrow().getStock());
+        assertEquals(2, productoRepository.findById(frijol.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void productoInexistenteNoSeReportaComoFaltaDeStock() {
+        Producto arroz = crear("Arroz inexistente", 10);
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> stockLedgerService.descontarStock(Map.of(arroz.getId(), 1, -1L, 1)));
+
+        assertEquals("Productos no encontrados: [-1]", error.getMessage());
+        assertEquals(10, productoRepository.findById(arroz.getId()).orElseThrow().getStock());
+    }
+
+    private Producto crear(String nombre, int stock) {
+        return productoRepository.save(new Producto(nombre, LocalDate.now().plusYears(1),
+                LocalDate.now().plusYears(1), "Granos", stock, new BigDecimal("2500.00")));
+    }
+}
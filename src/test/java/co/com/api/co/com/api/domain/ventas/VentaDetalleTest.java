@@ -0,0 +1,131 @@
+package co.com.api.co.com.api.domain.ventas;
+
+import co.com.api.co.com.api.controller.VentaController;
+import co.com.api.co.com.api.domain.clientes.Cliente;
+import co.com.api.co.com.api.domain.clientes.ClienteRepository;
+import co.com.api.co.com.api.domain.empleados.Empleado;
+import co.com.api.co.com.api.domain.empleados.EmpleadoRepository;
+import co.com.api.co.com.api.domain.productos.Producto;
+import co.com.api.co.com.api.domain.productos.ProductoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// El grafo Venta.detalle trae productos y líneas juntos: cada colección debe llegar sin
+// repeticiones y guardar la venta no debe duplicar filas de venta_productos.
+// Base H2 propia para no compartir esquema con otras pruebas.
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:ventas;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("consultas")
+class VentaDetalleTest {
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private VentaRepository ventaRepository;
+
+    @Autowired
+    private VentaController ventaController;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Cliente cliente;
+    private Empleado vendedor;
+    private List<Producto> productos;
+    private Venta venta;
+
+    @BeforeEach
+    void preparar() {
+        String sufijo = String.valueOf(System.nanoTime());
+        cliente = clienteRepository.save(new Cliente("Cliente " + sufijo, "C" + sufijo, "3100000000",
+                "cliente" + sufijo + "@ventas.test", "Calle 1"));
+        vendedor = empleadoRepository.save(new Empleado("Vendedor " + sufijo, "E" + sufijo, 30, "3100000000",
+                "vendedor" + sufijo + "@ventas.test", LocalDate.now()));
+        productos = List.of(crear("Arroz " + sufijo), crear("Frijol " + sufijo), crear("Lenteja " + sufijo),
+                crear("Panela " + sufijo));
+
+        Venta nueva = new Venta();
+        nueva.setFecha(LocalDate.now());
+        nueva.setValorVenta(new BigDecimal("10000.00"));
+        nueva.setCliente(cliente);
+        nueva.setVendedor(vendedor);
+        nueva.setEstado(Venta.EstadoVenta.COMPLETADA);
+        venta = stockLedgerService.registrarVenta(nueva, Map.of(
+                productos.get(0).getId(), 1, productos.get(1).getId(), 2, productos.get(2).getId(), 3));
+    }
+
+    @Test
+    void elGrafoNoRepiteProductosNiLineas() {
+        assertCompleta(ventaRepository.findDetalleById(venta.getId()).orElseThrow());
+        assertCompleta(unica(ventaRepository.findByIdIn(List.of(venta.getId()), Sort.by("id"))));
+        assertCompleta(unica(ventaRepository.findByCliente(cliente)));
+        assertCompleta(unica(ventaRepository.findByVendedor(vendedor)));
+    }
+
+    @Test
+    void agregarYRemoverProductoEscribenUnaFilaPorProducto() {
+        Long cuarto = productos.get(3).getId();
+
+        ResponseEntity<Venta> agregada = ventaController.agregarProducto(venta.getId(), cuarto);
+        assertEquals(HttpStatus.OK, agregada.getStatusCode());
+        assertEquals(4, filasVentaProductos());
+
+        // Agregar de nuevo el mismo producto no crea otra fila
+        ventaController.agregarProducto(venta.getId(), cuarto);
+        assertEquals(4, filasVentaProductos());
+
+        ResponseEntity<Venta> removida = ventaController.removerProducto(venta.getId(), productos.get(0).getId());
+        assertEquals(HttpStatus.OK, removida.getStatusCode());
+        assertEquals(3, filasVentaProductos());
+        assertEquals(List.of(productos.get(1).getId(), productos.get(2).getId(), cuarto),
+                ventaRepository.findDetalleById(venta.getId()).orElseThrow().getProductos().stream()
+                        .map(Producto::getId).toList());
+    }
+
+    private void assertCompleta(Venta leida) {
+        assertEquals(3, leida.getProductos().size());
+        assertEquals(3, leida.getDetalles().size());
+        assertEquals(List.of(productos.get(0).getId(), productos.get(1).getId(), productos.get(2).getId()),
+                leida.getProductos().stream().map(Producto::getId).toList());
+    }
+
+    private Venta unica(List<Venta> ventas) {
+        List<Venta> deLaPrueba = ventas.stream().filter(v -> v.getId().equals(venta.getId())).toList();
+        assertEquals(1, deLaPrueba.size());
+        return deLaPrueba.get(0);
+    }
+
+    private int filasVentaProductos() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM venta_productos WHERE venta_id = ?",
+                Integer.class, venta.getId());
+    }
+
+    private Producto crear(String nombre) {
+        return productoRepository.save(new Producto(nombre, LocalDate.now().plusYears(1),
+                LocalDate.now().plusYears(1), "Granos", 100, new BigDecimal("1000.00")));
+    }
+}
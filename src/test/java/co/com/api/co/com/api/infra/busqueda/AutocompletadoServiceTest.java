@@ -0,0 +1,55 @@
+package co.com.api.co.com.api.infra.busqueda;
+
+import co.com.api.co.com.api.domain.productos.ProductoEstado;
+import co.com.api.co.com.api.domain.productos.ProductoModificadoEvent;
+import co.com.api.co.com.api.dto.Sugerencia;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Sugerencias de productos mantenidas con ProductoModificadoEvent, sin base de datos
+class AutocompletadoServiceTest {
+
+    private final AutocompletadoService autocompletado = new AutocompletadoService();
+
+    @Test
+    void renombrarReemplazaLaSugerencia() {
+        autocompletado.alModificarProducto(guardado(1L, "Arroz Diana", 0));
+        autocompletado.alModificarProducto(guardado(1L, "Frijol cargamanto", 1));
+
+        assertEquals(List.of(), textos("arr"));
+        assertEquals(List.of("Frijol cargamanto"), textos("fri"));
+    }
+
+    @Test
+    void eventoAtrasadoNoVuelveAlNombreAnterior() {
+        autocompletado.alModificarProducto(guardado(1L, "Arroz Diana", 0));
+        autocompletado.alModificarProducto(guardado(1L, "Frijol cargamanto", 2));
+        // La versión 1 confirmó antes que la 2 pero su evento llega después
+        autocompletado.alModificarProducto(guardado(1L, "Arroz Roa", 1));
+
+        assertEquals(List.of(), textos("arr"));
+        assertEquals(List.of("Frijol cargamanto"), textos("fri"));
+    }
+
+    @Test
+    void guardadoAtrasadoNoVuelveASugerirProductoEliminado() {
+        autocompletado.alModificarProducto(guardado(1L, "Arroz Diana", 0));
+        autocompletado.alModificarProducto(ProductoModificadoEvent.eliminado(1L));
+        autocompletado.alModificarProducto(guardado(1L, "Arroz Diana", 1));
+
+        assertEquals(List.of(), textos("arr"));
+    }
+
+    private List<String> textos(String prefijo) {
+        return autocompletado.sugerirProductos(prefijo, null).stream().map(Sugerencia::texto).toList();
+    }
+
+    private static ProductoModificadoEvent guardado(Long id, String nombre, long version) {
+        return new ProductoModificadoEvent(id, new ProductoEstado(
+                id, nombre, "Granos", 10, BigDecimal.ONE, null, version));
+    }
+}
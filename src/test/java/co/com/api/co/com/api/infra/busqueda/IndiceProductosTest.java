@@ -0,0 +1,128 @@
+package co.com.api.co.com.api.infra.busqueda;
+
+import co.com.api.co.com.api.domain.productos.ProductoEstado;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Ranking del índice invertido de productos, sin base de datos
+class IndiceProductosTest {
+
+    private final IndiceProductos indice = new IndiceProductos();
+
+    @Test
+    void tokenizarNormalizaTildesMayusculasYRepetidos() {
+        assertEquals(List.of("cafe", "con", "leche"), Texto.tokenizar("Café, con LECHE café"));
+        assertEquals(List.of(), Texto.tokenizar("  -- "));
+        assertEquals("", Texto.normalizar(null));
+    }
+
+    @Test
+    void coincidenciaEnNombrePesaMasQueEnCategoria() {
+        indexar(1L, "Lenteja", "Arroz y granos");
+        indexar(2L, "Arroz Diana", "Granos");
+
+        assertEquals(List.of(2L, 1L), indice.buscar("arroz", 0, 10));
+    }
+
+    @Test
+    void todosLosTerminosDebenAparecer() {
+        indexar(1L, "Arroz Diana", "Granos");
+        indexar(2L, "Arroz Roa", "Granos");
+
+        assertEquals(List.of(1L), indice.buscar("arroz diana", 0, 10));
+        assertEquals(List.of(), indice.buscar("arroz lenteja", 0, 10));
+    }
+
+    @Test
+    void soloElUltimoTerminoCoincidePorPrefijo() {
+        indexar(1L, "Arroz Diana", "Granos");
+
+        assertEquals(List.of(1L), indice.buscar("arr", 0, 10));
+        assertEquals(List.of(1L), indice.buscar("diana arr", 0, 10));
+        assertEquals(List.of(), indice.buscar("arr diana", 0, 10));
+    }
+
+    @Test
+    void coincidenciaExactaPesaMasQuePorPrefijo() {
+        indexar(1L, "Panela", "Endulzantes");
+        indexar(2L, "Pan", "Panaderia");
+
+        assertEquals(List.of(2L, 1L), indice.buscar("pan", 0, 10));
+    }
+
+    @Test
+    void aIgualPuntajeGanaElNombreMasCorto() {
+        indexar(1L, "Arroz integral", "Granos");
+        indexar(2L, "Arroz", "Granos");
+
+        assertEquals(List.of(2L, 1L), indice.buscar("arroz", 0, 10));
+    }
+
+    @Test
+    void buscaSinTildesYPagina() {
+        indexar(1L, "Café molido", "Bebidas");
+        indexar(2L, "Café en grano", "Bebidas");
+        indexar(3L, "Café", "Bebidas");
+
+        assertEquals(List.of(3L, 1L, 2L), indice.buscar("cafe", 0, 10));
+        assertEquals(List.of(1L), indice.buscar("CAFÉ", 1, 1));
+        assertEquals(List.of(), indice.buscar("cafe", 3, 10));
+    }
+
+    @Test
+    void modificarYEliminarQuitanLosTerminosAnteriores() {
+        indexar(1L, "Arroz Diana", "Granos", 0);
+        indexar(1L, "Frijol cargamanto", "Granos", 1);
+
+        assertEquals(List.of(), indice.buscar("arroz", 0, 10));
+        assertEquals(List.of(1L), indice.buscar("frijol", 0, 10));
+
+        indice.eliminar(1L);
+        assertEquals(List.of(), indice.buscar("granos", 0, 10));
+        assertEquals(0, indice.cantidadProductos());
+    }
+
+    @Test
+    void eventoAtrasadoNoVuelveAlNombreAnterior() {
+        indexar(1L, "Arroz Diana", "Granos", 0);
+        indexar(1L, "Frijol cargamanto", "Granos", 2);
+        // La versión 1 confirmó antes que la 2 pero su evento llega después
+        indexar(1L, "Arroz Roa", "Granos", 1);
+
+        assertEquals(List.of(1L), indice.buscar("frijol", 0, 10));
+        assertEquals(List.of(), indice.buscar("arroz", 0, 10));
+    }
+
+    @Test
+    void cambioSinNuevosTerminosTambienAvanzaLaVersion() {
+        indexar(1L, "Arroz Diana", "Granos", 0);
+        // Solo cambió el stock: mismos términos, versión 2
+        indexar(1L, "Arroz Diana", "Granos", 2);
+        indexar(1L, "Arroz Roa", "Granos", 1);
+
+        assertEquals(List.of(1L), indice.buscar("diana", 0, 10));
+        assertEquals(List.of(), indice.buscar("roa", 0, 10));
+    }
+
+    @Test
+    void guardadoAtrasadoNoReindexaProductoEliminado() {
+        indexar(1L, "Arroz Diana", "Granos", 0);
+        indice.eliminar(1L);
+        indexar(1L, "Arroz Diana", "Granos", 1);
+
+        assertEquals(List.of(), indice.buscar("arroz", 0, 10));
+        assertEquals(0, indice.cantidadProductos());
+    }
+
+    private void indexar(Long id, String nombre, String categoria) {
+        indexar(id, nombre, categoria, 0);
+    }
+
+    private void indexar(Long id, String nombre, String categoria, long version) {
+        indice.indexar(new ProductoEstado(id, nombre, categoria, 10, BigDecimal.ONE, null, version));
+    }
+}
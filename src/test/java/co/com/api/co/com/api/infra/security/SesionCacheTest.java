@@ -0,0 +1,73 @@
+package co.com.api.co.com.api.infra.security;
+
+import co.com.api.co.com.api.domain.usuarios.Usuario;
+import co.com.api.co.com.api.infra.security.SesionCache.SesionAutenticada;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SesionCacheTest {
+
+    private final SesionCache cache = new SesionCache(100, Duration.ofMinutes(5));
+
+    private final AtomicInteger cargas = new AtomicInteger();
+
+    @Test
+    void laSegundaLecturaNoVuelveACargar() {
+        SesionAutenticada primera = cache.obtener("token-1", token -> cargar(1L));
+        SesionAutenticada segunda = cache.obtener("token-1", token -> cargar(1L));
+
+        assertSame(primera, segunda);
+        assertEquals(1, cargas.get());
+    }
+
+    @Test
+    void cargaQueCruzaUnaInvalidacionNoQuedaEnCache() {
+        cache.obtener("token-1", token -> {
+            SesionAutenticada vieja = cargar(1L);
+            // El administrador cambia los roles mientras la carga lee los anteriores
+            cache.invalidarUsuario(1L);
+            return vieja;
+        });
+        cache.obtener("token-1", token -> cargar(1L));
+
+        assertEquals(2, cargas.get());
+    }
+
+    @Test
+    void invalidarUsuarioSoloDescartaSusTokens() {
+        cache.obtener("token-1", token -> cargar(1L));
+        cache.obtener("token-2", token -> cargar(2L));
+
+        cache.invalidarUsuario(1L);
+        cache.obtener("token-1", token -> cargar(1L));
+        cache.obtener("token-2", token -> cargar(2L));
+
+        assertEquals(3, cargas.get());
+    }
+
+    @Test
+    void invalidarTodoDuranteLaCargaTambienLaDescarta() {
+        cache.obtener("token-1", token -> {
+            SesionAutenticada vieja = cargar(1L);
+            cache.invalidarTodo();
+            return vieja;
+        });
+        cache.obtener("token-1", token -> cargar(1L));
+
+        assertEquals(2, cargas.get());
+    }
+
+    private SesionAutenticada cargar(Long usuarioId) {
+        cargas.incrementAndGet();
+        Usuario usuario = new Usuario();
+        usuario.setId(usuarioId);
+        return new SesionAutenticada(usuario, List.of(), Instant.now().plusSeconds(3600));
+    }
+}